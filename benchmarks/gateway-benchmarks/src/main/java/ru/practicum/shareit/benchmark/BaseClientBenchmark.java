@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import ru.practicum.shareit.client.HttpClientConfig;
+import ru.practicum.shareit.client.HttpClientProperties;
+import ru.practicum.shareit.user.client.UserClient;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BaseClientBenchmark {
+    @Param({"1", "100", "1000"})
+    private int users;
+    private DisposableServer server;
+    private ConnectionProvider connectionProvider;
+    private UserClient userClient;
+
+    @Setup
+    public void startServer() {
+        byte[] body = createUsersJson(users).getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> response
+                        .header("Content-Type", "application/json")
+                        .header("Content-Length", String.valueOf(body.length))
+                        .sendByteArray(Mono.just(body)))
+                .bindNow();
+
+        HttpClientConfig httpClientConfig = new HttpClientConfig();
+        HttpClientProperties properties = new HttpClientProperties();
+        WebClient.Builder builder = WebClient.builder();
+
+        connectionProvider = httpClientConfig.shareItServerConnectionProvider(properties);
+        httpClientConfig.shareItServerConnectorCustomizer(connectionProvider, properties).customize(builder);
+
+        userClient = new UserClient("http://localhost:" + server.port(), builder);
+    }
+
+    @TearDown
+    public void stopServer() {
+        server.disposeNow();
+        connectionProvider.dispose();
+    }
+
+    @Benchmark
+    public int getUsers() {
+        return userClient.getUsers()
+                .flatMap(response -> DataBufferUtils.join(response.getBody()))
+                .map(this::readAndRelease)
+                .block();
+    }
+
+    private int readAndRelease(DataBuffer dataBuffer) {
+        int readableByteCount = dataBuffer.readableByteCount();
+
+        DataBufferUtils.release(dataBuffer);
+
+        return readableByteCount;
+    }
+
+    private static String createUsersJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+
+            json.append("{\"id\":").append(i)
+                    .append(",\"name\":\"User ").append(i)
+                    .append("\",\"email\":\"user").append(i).append("@shareit.ru\"}");
+        }
+
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class BenchmarkServer {
+    private BenchmarkServer() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        Map<String, String> args = new LinkedHashMap<>();
+
+        args.put("spring.datasource.url", "jdbc:h2:mem:" + databaseName + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        args.put("logging.level.root", "WARN");
+        args.put("logging.level.ru.practicum", "WARN");
+
+        for (String property : properties) {
+            String[] keyValue = property.split("=", 2);
+
+            args.put(keyValue[0], keyValue[1]);
+        }
+
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(args.entrySet().stream()
+                        .map(arg -> "--" + arg.getKey() + "=" + arg.getValue())
+                        .toArray(String[]::new));
+    }
+
+    static void insertUsers(JdbcTemplate jdbcTemplate, int count) {
+        List<Object[]> users = new ArrayList<>();
+
+        for (int i = 1; i <= count; i++) {
+            users.add(new Object[]{"User " + i, "user" + i + "@shareit.ru"});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)", users);
+    }
+
+    static void insertItems(JdbcTemplate jdbcTemplate, int ownerId, int count, Integer requestsCount) {
+        List<Object[]> items = new ArrayList<>();
+
+        for (int i = 1; i <= count; i++) {
+            items.add(new Object[]{"Item " + i, "Description " + i, true, ownerId,
+                    requestsCount == null ? null : (i - 1) % requestsCount + 1});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, is_available, owner_id, request_id) " +
+                "VALUES (?, ?, ?, ?, ?)", items);
+    }
+
+    static void insertItemRequests(JdbcTemplate jdbcTemplate, int requestorId, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> requests = new ArrayList<>();
+
+        for (int i = 1; i <= count; i++) {
+            requests.add(new Object[]{"Request " + i, requestorId, Timestamp.valueOf(now.minusMinutes(i))});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO items_requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                requests);
+    }
+
+    static void insertBookings(JdbcTemplate jdbcTemplate, int bookerId, int itemsCount, int count) {
+        String[] statuses = {"WAITING", "APPROVED", "REJECTED"};
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = now.plusHours(i - count / 2);
+
+            bookings.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(2)),
+                    i % itemsCount + 1, bookerId, statuses[i % statuses.length]});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (?, ?, ?, ?, ?)", bookings);
+    }
+}
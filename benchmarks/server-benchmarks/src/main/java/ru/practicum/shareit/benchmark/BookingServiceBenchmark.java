@@ -0,0 +1,73 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+    private static final int OWNER_ID = 1;
+    private static final int BOOKER_ID = 2;
+    private static final int ITEMS_COUNT = 100;
+
+    @Param({"1000", "10000"})
+    private int bookings;
+    @Param({"ALL", "FUTURE", "PAST", "CURRENT", "WAITING"})
+    private BookingStatus state;
+    @Param({"0", "500"})
+    private int from;
+    @Param("10")
+    private int size;
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+
+    @Setup
+    public void startServer() {
+        context = BenchmarkServer.start("bookings" + System.nanoTime());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkServer.insertUsers(jdbcTemplate, 2);
+        BenchmarkServer.insertItems(jdbcTemplate, OWNER_ID, ITEMS_COUNT, null);
+        BenchmarkServer.insertBookings(jdbcTemplate, BOOKER_ID, ITEMS_COUNT, bookings);
+
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingView> getUserBookings() {
+        return bookingService.getUserBookings(BOOKER_ID, state, from, size);
+    }
+
+    @Benchmark
+    public List<BookingView> getOwnerBookings() {
+        return bookingService.getOwnerBookings(OWNER_ID, state, from, size);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+    private static final int OWNER_ID = 1;
+
+    @Param({"1", "50"})
+    private int batchSize;
+    @Param({"100", "1000"})
+    private int items;
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+    private User owner;
+
+    @Setup
+    public void startServer() {
+        context = BenchmarkServer.start("inserts" + System.nanoTime(),
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+
+        BenchmarkServer.insertUsers(context.getBean(JdbcTemplate.class), 1);
+
+        itemRepository = context.getBean(ItemRepository.class);
+        owner = context.getBean(UserRepository.class).findById(OWNER_ID).orElseThrow();
+    }
+
+    @TearDown
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> saveItems() {
+        List<Item> newItems = new ArrayList<>(items);
+
+        for (int i = 1; i <= items; i++) {
+            newItems.add(Item.builder()
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+
+        return itemRepository.saveAll(newItems);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.request.model.ItemRequestView;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    private static final int REQUESTOR_ID = 1;
+    private static final int OWNER_ID = 2;
+
+    @Param({"10", "100", "1000"})
+    private int requests;
+    @Param({"1", "10"})
+    private int itemsPerRequest;
+    @Param({"10", "1000"})
+    private int size;
+    private ConfigurableApplicationContext context;
+    private ItemRequestService itemRequestService;
+
+    @Setup
+    public void startServer() {
+        context = BenchmarkServer.start("requests" + System.nanoTime());
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkServer.insertUsers(jdbcTemplate, 2);
+        BenchmarkServer.insertItemRequests(jdbcTemplate, REQUESTOR_ID, requests);
+        BenchmarkServer.insertItems(jdbcTemplate, OWNER_ID, requests * itemsPerRequest, requests);
+
+        itemRequestService = context.getBean(ItemRequestService.class);
+    }
+
+    @TearDown
+    public void stopServer() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemRequestView> getUserItemRequests() {
+        return itemRequestService.getUserItemRequests(REQUESTOR_ID);
+    }
+
+    @Benchmark
+    public List<ItemRequestView> getAllItemRequests() {
+        return itemRequestService.getAllItemRequests(OWNER_ID, 0, size);
+    }
+}
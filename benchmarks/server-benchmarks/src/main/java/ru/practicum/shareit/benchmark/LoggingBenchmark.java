@@ -0,0 +1,107 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.ItemCardView;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 3)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final int OWNER_ID = 1;
+    private static final int BOOKER_ID = 2;
+    private static final int ITEM_ID = 1;
+
+    private static final String DIAGNOSTICS = "diagnostics";
+
+    @Param({"sync", "async"})
+    private String appender;
+    @Param({DIAGNOSTICS, "DEBUG", "INFO"})
+    private String level;
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private PrintStream console;
+    private Path logFile;
+
+    @Setup
+    public void startServer() throws IOException {
+        console = System.out;
+        logFile = Files.createTempFile("shareit-logging", ".log");
+
+        System.setOut(new PrintStream(new BufferedOutputStream(Files.newOutputStream(logFile)), false,
+                StandardCharsets.UTF_8));
+
+        List<String> properties = new ArrayList<>();
+        List<String> profiles = new ArrayList<>();
+
+        properties.add("logging.level.root=INFO");
+
+        if (level.equals(DIAGNOSTICS)) {
+            profiles.add(DIAGNOSTICS);
+            properties.add("logging.level.ru.practicum=DEBUG");
+        } else {
+            properties.add("logging.level.ru.practicum=" + level);
+        }
+
+        if (appender.equals("sync")) {
+            profiles.add("sync-logging");
+        }
+
+        if (!profiles.isEmpty()) {
+            properties.add("spring.profiles.include=" + String.join(",", profiles));
+        }
+
+        context = BenchmarkServer.start("logging" + System.nanoTime(), properties.toArray(String[]::new));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkServer.insertUsers(jdbcTemplate, 2);
+        BenchmarkServer.insertItems(jdbcTemplate, OWNER_ID, 1, null);
+        BenchmarkServer.insertBookings(jdbcTemplate, BOOKER_ID, 1, 10);
+
+        itemService = context.getBean(ItemService.class);
+    }
+
+    @TearDown
+    public void stopServer() throws IOException {
+        context.close();
+
+        System.out.close();
+        System.setOut(console);
+
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public List<ItemCardView> getItem() {
+        return itemService.getItemCard(ITEM_ID, OWNER_ID);
+    }
+}
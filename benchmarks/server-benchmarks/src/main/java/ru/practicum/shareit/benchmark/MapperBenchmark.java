@@ -0,0 +1,98 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.ItemBooking;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"0", "10", "100"})
+    private int comments;
+    private Item item;
+    private Booking booking;
+
+    @Setup
+    public void createItem() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = User.builder().id(1).name("Ilya").email("belyachok567811@gmail.com").build();
+        User booker = User.builder().id(2).name("Maxim").email("iliasacool@gmail.com").build();
+
+        item = Item.builder()
+                .id(1)
+                .name("Дрель")
+                .description("Красивая дрель")
+                .available(true)
+                .owner(owner)
+                .lastBooking(createItemBooking(1, booker.getId()))
+                .nextBooking(createItemBooking(2, booker.getId()))
+                .request(ItemRequest.builder().id(1).description("Нужна дрель").requestor(booker).created(now).build())
+                .build();
+
+        item.setComments(IntStream.range(0, comments)
+                .mapToObj(i -> Comment.builder()
+                        .id(i)
+                        .item(item)
+                        .author(booker)
+                        .text("Отличная дрель " + i)
+                        .created(now)
+                        .build())
+                .collect(Collectors.toList()));
+
+        booking = Booking.builder()
+                .id(1)
+                .start(now.plusDays(1))
+                .end(now.plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build();
+    }
+
+    @Benchmark
+    public ItemDto toItemDto() {
+        return ItemMapper.toItemDto(item);
+    }
+
+    @Benchmark
+    public BookingDto toBookingDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    private ItemBooking createItemBooking(int id, int bookerId) {
+        ItemBooking itemBooking = new ItemBooking();
+
+        itemBooking.setId(id);
+        itemBooking.setBookerId(bookerId);
+
+        return itemBooking;
+    }
+}
@@ -1,15 +1,19 @@
 package ru.practicum.shareit.booking.client;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
@@ -18,44 +22,73 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getUerBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUerBookings(long userId, BookingState state, Integer from,
+                                                                 Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+
+        if (cursor == null) {
+            return get("?state={state}&from={from}&size={size}", userId, parameters);
+        }
+
+        parameters.put("cursor", cursor);
+
+        return get("?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerBookings(long userId, BookingState state, Integer from,
+                                                                   Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner" + "?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+
+        if (cursor == null) {
+            return get("/owner" + "?state={state}&from={from}&size={size}", userId, parameters);
+        }
+
+        parameters.put("cursor", cursor);
+
+        return get("/owner" + "?state={state}&from={from}&size={size}&cursor={cursor}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportOwnerBookings(long userId) {
+        return get("/owner/export", userId);
     }
 
-    public ResponseEntity<Object> bookItem(long userId, BookingCreationDto requestDto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookItem(long userId, BookingCreationDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookItems(long userId, List<BookingCreationDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approveOrRejectBooking(long userId, int bookingId, boolean isApproved) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveOrRejectBooking(long userId, int bookingId,
+                                                                         boolean isApproved) {
         Map<String, Object> parameters = Map.of("approved", isApproved);
 
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveOrRejectBookings(long userId,
+                                                                          List<BookingDecisionDto> decisions) {
+        return patch("/batch", userId, decisions);
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.controller;
 
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,13 +13,20 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.model.BookingState;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 import static ru.practicum.shareit.booking.validation.BookingDateValidation.*;
 
@@ -27,23 +35,26 @@ import static ru.practicum.shareit.booking.validation.BookingDateValidation.*;
 @RequiredArgsConstructor
 @Validated
 public class BookingController {
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUserBookings(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam);
 
-        return bookingClient.getUerBookings(userId, state, from, size);
+        return bookingClient.getUerBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @Valid @RequestBody BookingCreationDto booking) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           @Valid @RequestBody BookingCreationDto booking) {
         endDateBeforeStartDateCheck(booking.getStart(), booking.getEnd());
 
         ensDateIsEqualsStartDateCheck(booking.getStart(), booking.getEnd());
@@ -51,14 +62,28 @@ public class BookingController {
         return bookingClient.bookItem(userId, booking);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookItems(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid @NotNull BookingCreationDto> bookings
+    ) {
+        for (BookingCreationDto booking : bookings) {
+            endDateBeforeStartDateCheck(booking.getStart(), booking.getEnd());
+
+            ensDateIsEqualsStartDateCheck(booking.getStart(), booking.getEnd());
+        }
+
+        return bookingClient.bookItems(userId, bookings);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                             @PathVariable Long bookingId) {
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveOrRejectBooking(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveOrRejectBooking(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @PathVariable(name = "bookingId") Integer bookingId,
             @RequestParam(value = "approved") Boolean isApproved
@@ -66,15 +91,31 @@ public class BookingController {
         return bookingClient.approveOrRejectBooking(userId, bookingId, isApproved);
     }
 
+    @PatchMapping("/batch")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveOrRejectBookings(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid @NotNull BookingDecisionDto> decisions
+    ) {
+        return bookingClient.approveOrRejectBookings(userId, decisions);
+    }
+
     @GetMapping("/owner")
-    public ResponseEntity<Object> getOwnerBookings(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "state", required = false) String stateParam,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero Integer from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
         BookingState state = BookingState.from(stateParam);
 
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+        return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") Integer userId
+    ) {
+        return bookingClient.exportOwnerBookings(userId);
     }
 }
\ No newline at end of file
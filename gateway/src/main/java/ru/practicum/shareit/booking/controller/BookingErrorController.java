@@ -1,21 +1,23 @@
 package ru.practicum.shareit.booking.controller;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import ru.practicum.shareit.booking.exception.DateFromThePastException;
 import ru.practicum.shareit.booking.exception.EndDateIsBeforeStartDateException;
 import ru.practicum.shareit.booking.exception.EndDateIsEqualsStartDateException;
 import ru.practicum.shareit.booking.exception.UnsupportedBookingStatusException;
 import ru.practicum.shareit.booking.model.ErrorResponse;
 
+import javax.validation.ConstraintViolationException;
+
 @RestControllerAdvice(value = "ru.practicum.shareit.booking.controller")
 public class BookingErrorController {
-    @ExceptionHandler({MethodArgumentNotValidException.class, DateFromThePastException.class,
+    @ExceptionHandler({WebExchangeBindException.class, DateFromThePastException.class,
             EndDateIsBeforeStartDateException.class, EndDateIsEqualsStartDateException.class,
-            UnsupportedBookingStatusException.class})
+            UnsupportedBookingStatusException.class, ConstraintViolationException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleException(final Exception e) {
         return new ErrorResponse(e.getMessage());
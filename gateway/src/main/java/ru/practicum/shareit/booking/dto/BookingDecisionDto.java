@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+
+import javax.validation.constraints.NotNull;
+
+@Getter
+public class BookingDecisionDto {
+    @NotNull
+    private Integer bookingId;
+    @NotNull
+    private Boolean approved;
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTags;
+import org.springframework.boot.actuate.metrics.web.reactive.client.WebClientExchangeTagsProvider;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class ServerExchangeTagsProvider implements WebClientExchangeTagsProvider {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    @Override
+    public Iterable<Tag> tags(ClientRequest request, ClientResponse response, Throwable throwable) {
+        return List.of(
+                WebClientExchangeTags.method(request),
+                Tag.of("uri", ID_SEGMENT.matcher(request.url().getPath()).replaceAll("/{id}")),
+                WebClientExchangeTags.status(response, throwable),
+                WebClientExchangeTags.clientName(request),
+                WebClientExchangeTags.outcome(response)
+        );
+    }
+}
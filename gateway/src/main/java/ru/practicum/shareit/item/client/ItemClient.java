@@ -2,11 +2,12 @@ package ru.practicum.shareit.item.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.comment.dto.CreationCommentDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
@@ -19,38 +20,42 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createNewItem(int userId, ItemCreationDto item) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createNewItem(int userId, ItemCreationDto item) {
         return post("", userId, item);
     }
 
-    public ResponseEntity<Object> updateItem(int userId, UpdateItem item, int itemId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(int userId, UpdateItem item, int itemId) {
         return patch("/" + itemId, userId, item);
     }
 
-    public ResponseEntity<Object> getItemById(int userId, int itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(int userId, int itemId, String ifNoneMatch) {
+        return getIfNoneMatch("/" + itemId, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getUsersItems(int userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUsersItems(int userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getItemsForSearch(int userId, String text) {
-        Map<String, Object> parameters = Map.of("text", text);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsForSearch(int userId, String text, Integer from,
+                                                                    Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
 
-        return get("/search" + "?text={text}", (long) userId, parameters);
+        return get("/search" + "?text={text}&from={from}&size={size}", (long) userId, parameters);
     }
 
-    public ResponseEntity<Object> addCommentToItem(int userId, int itemId, CreationCommentDto dto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addCommentToItem(int userId, int itemId, CreationCommentDto dto) {
         return post("/" + itemId + "/comment", userId, dto);
     }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,28 +14,33 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.client.ItemClient;
 import ru.practicum.shareit.item.comment.dto.CreationCommentDto;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.model.UpdateItem;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 @RestController
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
+@Validated
 public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createNewItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                                @Valid @RequestBody ItemCreationDto item
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createNewItem(@RequestHeader("X-Sharer-User-Id") Integer userId,
+                                                                @Valid @RequestBody ItemCreationDto item
     ) {
         return itemClient.createNewItem(userId, item);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @Valid @RequestBody UpdateItem item,
             @PathVariable(value = "itemId") Integer itemId
@@ -41,25 +49,31 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") Integer userId,
-                                              @PathVariable(value = "itemId") Integer itemId) {
-        return itemClient.getItemById(userId, itemId);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemById(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @PathVariable(value = "itemId") Integer itemId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return itemClient.getItemById(userId, itemId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUsersItems(@RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUsersItems(@RequestHeader("X-Sharer-User-Id") Integer userId) {
         return itemClient.getUsersItems(userId);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> getItemsForSearch(
-            @RequestHeader("X-Sharer-User-Id") Integer userId, @RequestParam(value = "text") String text
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemsForSearch(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "text") String text,
+            @PositiveOrZero @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(value = "size", defaultValue = "10") Integer size
     ) {
-        return itemClient.getItemsForSearch(userId, text);
+        return itemClient.getItemsForSearch(userId, text, from, size);
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addCommentToItem(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> addCommentToItem(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @PathVariable(value = "itemId") Integer itemId,
             @Valid @RequestBody CreationCommentDto dto
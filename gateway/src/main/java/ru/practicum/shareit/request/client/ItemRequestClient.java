@@ -2,11 +2,12 @@ package ru.practicum.shareit.request.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 
@@ -17,28 +18,28 @@ public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> createItemRequest(int userId, ItemRequestCreationDto itemRequestCreationDto) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItemRequest(int userId,
+                                                                    ItemRequestCreationDto itemRequestCreationDto) {
         return post("", userId, itemRequestCreationDto);
     }
 
-    public ResponseEntity<Object> getItemRequestById(int userId, int id) {
-        return get("/" + id, userId);
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemRequestById(int userId, int id, String ifNoneMatch) {
+        return getIfNoneMatch("/" + id, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getUserItemRequests(int userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserItemRequests(int userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(int userId, int from, int size) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllItemRequests(int userId, int from, int size) {
         Map<String, Object> parameters = Map.of("from", from, "size", size);
 
         return get("/all" + "?from={from}&size={size}", (long) userId, parameters);
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +13,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 
@@ -26,7 +30,7 @@ public class ItemRequestController {
     private final ItemRequestClient itemRequestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItemRequest(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItemRequest(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @Valid @RequestBody ItemRequestCreationDto itemRequestCreationDto
     ) {
@@ -34,20 +38,23 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{itemRequestId}")
-    public ResponseEntity<Object> getItemRequestById(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
-            @PathVariable(value = "itemRequestId") Integer id
+            @PathVariable(value = "itemRequestId") Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return itemRequestClient.getItemRequestById(userId, id);
+        return itemRequestClient.getItemRequestById(userId, id, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItemRequests(@RequestHeader("X-Sharer-User-Id") Integer userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserItemRequests(
+            @RequestHeader("X-Sharer-User-Id") Integer userId
+    ) {
         return itemRequestClient.getUserItemRequests(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllItemRequests(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero Integer from,
             @RequestParam(value = "size", required = false, defaultValue = "10") @Positive Integer size
@@ -1,15 +1,15 @@
 package ru.practicum.shareit.request.controller;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import ru.practicum.shareit.request.model.ErrorResponse;
 
 @RestControllerAdvice(value = "ru.practicum.shareit.request.controller")
 public class ItemRequestErrorController {
-    @ExceptionHandler({MethodArgumentNotValidException.class})
+    @ExceptionHandler({WebExchangeBindException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleException(final Exception e) {
         return new ErrorResponse(e.getMessage());
@@ -2,11 +2,12 @@ package ru.practicum.shareit.user.client;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.model.User;
 
@@ -15,32 +16,31 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
+                        .baseUrl(serverUrl + API_PREFIX)
                         .build()
         );
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(int userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(int userId) {
         return get("/" + userId);
     }
 
-    public ResponseEntity<Object> createNewUser(User user) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createNewUser(User user) {
         return post("", user);
     }
 
-    public ResponseEntity<Object> updateUser(int userId, User user) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(int userId, User user) {
         return patch("/" + userId, user);
     }
 
-    public ResponseEntity<Object> deleteUserById(int userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUserById(int userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,6 +12,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.constraint.CreatedUser;
 import ru.practicum.shareit.user.constraint.UpdatedUser;
@@ -26,24 +29,26 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUsers() {
         return userClient.getUsers();
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable(value = "userId", required = false) Integer userId) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(
+            @PathVariable(value = "userId", required = false) Integer userId
+    ) {
         return userClient.getUserById(userId);
     }
 
     @Validated(value = CreatedUser.class)
     @PostMapping
-    public ResponseEntity<Object> createNewUser(@Valid @RequestBody User user) {
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createNewUser(@Valid @RequestBody User user) {
         return userClient.createNewUser(user);
     }
 
     @Validated(value = UpdatedUser.class)
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(
             @PathVariable(value = "userId") Integer userId,
             @Valid @RequestBody User user
     ) {
@@ -51,9 +56,9 @@ public class UserController {
     }
 
     @DeleteMapping(value = {"", "/{userId}"})
-    public void deleteUserById(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUserById(
             @PathVariable(value = "userId") Integer userId
     ) {
-        userClient.deleteUserById(userId);
+        return userClient.deleteUserById(userId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class BaseClientRelayTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String ITEM_TAG = "W/\"5d41402abc4b2a76b9719d911017c592\"";
+    private static final String ITEM = "{\"id\":1,\"name\":\"Дрель\"}";
+    private static final String ERROR = "{\"error\":\"Пользователь не найден\"}";
+
+    private static final DisposableServer SERVER = HttpServer.create()
+            .port(0)
+            .route(routes -> routes
+                    .get("/items/{itemId}", (request, response) -> {
+                        if (!"1".equals(request.requestHeaders().get(USER_HEADER))) {
+                            return response.status(HttpStatus.BAD_REQUEST.value()).send();
+                        }
+
+                        response.header(HttpHeaders.ETAG, ITEM_TAG).header(HttpHeaders.VARY, USER_HEADER);
+
+                        if (ITEM_TAG.equals(request.requestHeaders().get(HttpHeaders.IF_NONE_MATCH))) {
+                            return response.status(HttpStatus.NOT_MODIFIED.value()).send();
+                        }
+
+                        return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just(ITEM), StandardCharsets.UTF_8);
+                    })
+                    .get("/users/{userId}", (request, response) -> response.status(HttpStatus.NOT_FOUND.value())
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .sendString(Mono.just(ERROR), StandardCharsets.UTF_8))
+                    .delete("/users/{userId}", (request, response) -> response
+                            .header(HttpHeaders.CONTENT_LENGTH, "0")
+                            .send()))
+            .bindNow();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    public static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + SERVER.port());
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        SERVER.disposeNow();
+    }
+
+    @Test
+    public void shouldRelayStatusHeadersAndBody() {
+        webTestClient.get().uri("/items/1")
+                .header(USER_HEADER, "1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectHeader().valueEquals(HttpHeaders.ETAG, ITEM_TAG)
+                .expectHeader().valueEquals(HttpHeaders.VARY, USER_HEADER)
+                .expectBody().json(ITEM);
+    }
+
+    @Test
+    public void shouldRelayNotModifiedWithoutBody() {
+        webTestClient.get().uri("/items/1")
+                .header(USER_HEADER, "1")
+                .header(HttpHeaders.IF_NONE_MATCH, ITEM_TAG)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, ITEM_TAG)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    public void shouldRelayErrorStatusAndBody() {
+        webTestClient.get().uri("/users/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json(ERROR);
+    }
+
+    @Test
+    public void shouldRelayEmptyBody() {
+        webTestClient.delete().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().isEmpty();
+    }
+}
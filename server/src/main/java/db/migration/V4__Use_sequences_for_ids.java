@@ -0,0 +1,34 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+public class V4__Use_sequences_for_ids extends BaseJavaMigration {
+    private static final List<String> TABLES = List.of("items_requests", "items", "bookings", "comments");
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (String table : TABLES) {
+                long start;
+
+                try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+                    resultSet.next();
+                    start = resultSet.getLong(1);
+                }
+
+                statement.execute(String.format("ALTER TABLE %s ALTER COLUMN id DROP IDENTITY", table));
+                statement.execute(String.format("CREATE SEQUENCE %s_seq START WITH %d INCREMENT BY %d", table, start,
+                        ALLOCATION_SIZE));
+                statement.execute(String.format("ALTER TABLE %1$s ALTER COLUMN id SET DEFAULT nextval('%1$s_seq')",
+                        table));
+            }
+        }
+    }
+}
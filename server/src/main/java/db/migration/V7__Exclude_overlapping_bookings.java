@@ -0,0 +1,60 @@
+package db.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+@Slf4j
+public class V7__Exclude_overlapping_bookings extends BaseJavaMigration {
+    private static final String POSTGRESQL = "PostgreSQL";
+    private static final String REJECT_OVERLAPPING_BOOKINGS = "UPDATE bookings SET status = 'REJECTED' " +
+            "WHERE status IN ('WAITING', 'APPROVED') AND EXISTS (SELECT 1 FROM bookings AS kept " +
+            "WHERE kept.item_id = bookings.item_id AND kept.id <> bookings.id " +
+            "AND kept.status IN ('WAITING', 'APPROVED') " +
+            "AND kept.start_date < bookings.end_date AND bookings.start_date < kept.end_date " +
+            "AND (CASE kept.status WHEN 'APPROVED' THEN 0 ELSE 1 END, kept.start_date, kept.id) < " +
+            "(CASE bookings.status WHEN 'APPROVED' THEN 0 ELSE 1 END, bookings.start_date, bookings.id))";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        if (!POSTGRESQL.equals(context.getConnection().getMetaData().getDatabaseProductName())) {
+            return;
+        }
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            createBtreeGistExtension(statement);
+
+            int rejected = statement.executeUpdate(REJECT_OVERLAPPING_BOOKINGS);
+
+            if (rejected > 0) {
+                log.warn("Отклонено {} пересекающихся бронирований перед добавлением ограничения", rejected);
+            }
+
+            statement.execute("ALTER TABLE bookings ADD CONSTRAINT bookings_item_id_period_excl " +
+                    "EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&) " +
+                    "WHERE (status IN ('WAITING', 'APPROVED'))");
+        }
+    }
+
+    private void createBtreeGistExtension(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(
+                "SELECT 1 FROM pg_extension WHERE extname = 'btree_gist'")) {
+            if (resultSet.next()) {
+                return;
+            }
+        }
+
+        try {
+            statement.execute("CREATE EXTENSION btree_gist");
+        } catch (SQLException e) {
+            throw new FlywayException("Не удалось установить расширение btree_gist. Выполните " +
+                    "CREATE EXTENSION btree_gist от имени владельца базы данных или суперпользователя " +
+                    "и повторите миграцию", e);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,12 +17,22 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.GetMapping;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,7 +41,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingDto createBooking(
@@ -35,12 +53,25 @@ public class BookingController {
     ) {
         BookingDto bookingDto = BookingMapper.toBookingDto(bookingService.addBooking(booking, userId));
 
-        log.info("Пользователь с id = {} успешно забронировал вещь с id = {}", bookingDto.getBooker(),
+        log.debug("Пользователь с id = {} успешно забронировал вещь с id = {}", bookingDto.getBooker(),
                 bookingDto.getItem().getId());
 
         return ResponseEntity.ok().body(bookingDto).getBody();
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestBody List<BookingCreationDto> bookings
+    ) {
+        List<BookingBatchResultDto> results = bookingService.addBookings(bookings, userId).stream()
+                .map(BookingMapper::toBookingBatchResultDto).collect(Collectors.toList());
+
+        log.debug("Пакет из {} бронирований от пользователя с id = {} успешно обработан", results.size(), userId);
+
+        return ResponseEntity.ok(results).getBody();
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveOrRejectBooking(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
@@ -50,11 +81,25 @@ public class BookingController {
         BookingDto bookingDto = BookingMapper.toBookingDto(bookingService
                 .approveOrRejectBooking(userId, bookingId, isApproved));
 
-        log.info("Пользователь с id = {} успешно подтвердил бронирование с id = {}", userId, bookingId);
+        log.debug("Пользователь с id = {} успешно подтвердил бронирование с id = {}", userId, bookingId);
 
         return ResponseEntity.ok(bookingDto).getBody();
     }
 
+    @PatchMapping("/batch")
+    public List<BookingDecisionResultDto> approveOrRejectBookings(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestBody List<BookingDecisionDto> decisions
+    ) {
+        List<BookingDecisionResultDto> results = bookingService.approveOrRejectBookings(userId, decisions).stream()
+                .map(BookingMapper::toBookingDecisionResultDto).collect(Collectors.toList());
+
+        log.debug("Пакет из {} решений по бронированиям от пользователя с id = {} успешно обработан", results.size(),
+                userId);
+
+        return ResponseEntity.ok(results).getBody();
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
@@ -62,38 +107,114 @@ public class BookingController {
     ) {
         BookingDto bookingDto = BookingMapper.toBookingDto(bookingService.getBookingById(bookingId, userId));
 
-        log.info("Успешно отправлено клиенту бронирование с id = {}", bookingId);
+        log.debug("Успешно отправлено клиенту бронирование с id = {}", bookingId);
 
         return ResponseEntity.ok(bookingDto).getBody();
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(
+    public ResponseEntity<List<BookingDto>> getUserBookings(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "state") BookingStatus status,
             @RequestParam(value = "from") Integer from,
-            @RequestParam(value = "size") Integer size
+            @RequestParam(value = "size") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        List<BookingDto> bookingDtoList = bookingService.getUserBookings(userId, status, from, size).stream()
+        List<BookingView> bookings = cursor == null
+                ? bookingService.getUserBookings(userId, status, from, size)
+                : bookingService.getUserBookingsAfter(userId, status, BookingCursor.decode(cursor), size);
+
+        List<BookingDto> bookingDtoList = bookings.stream()
                 .map(BookingMapper::toBookingDto).collect(Collectors.toList());
 
-        log.info("Успешно отправлены все будущие бронирования пользователю с id = {}", userId);
+        log.debug("Успешно отправлены все будущие бронирования пользователю с id = {}", userId);
 
-        return ResponseEntity.ok().body(bookingDtoList).getBody();
+        return withNextCursor(bookings, size).body(bookingDtoList);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
             @RequestParam(value = "state") BookingStatus status,
             @RequestParam(value = "from") Integer from,
-            @RequestParam(value = "size") Integer size
+            @RequestParam(value = "size") Integer size,
+            @RequestParam(value = "cursor", required = false) String cursor
     ) {
-        List<BookingDto> bookingDtoList = bookingService.getOwnerBookings(userId, status, from, size).stream()
+        List<BookingView> bookings = cursor == null
+                ? bookingService.getOwnerBookings(userId, status, from, size)
+                : bookingService.getOwnerBookingsAfter(userId, status, BookingCursor.decode(cursor), size);
+
+        List<BookingDto> bookingDtoList = bookings.stream()
                 .map(BookingMapper::toBookingDto).collect(Collectors.toList());
 
-        log.info("Успешно отправлены бронирования создателю с id = {}", userId);
+        log.debug("Успешно отправлены бронирования создателю с id = {}", userId);
+
+        return withNextCursor(bookings, size).body(bookingDtoList);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportOwnerBookings(
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            HttpServletResponse response
+    ) throws IOException {
+        try (NdjsonWriter lines = new NdjsonWriter(response, objectMapper)) {
+            bookingService.exportOwnerBookings(userId, booking -> lines.write(BookingMapper.toBookingDto(booking)));
+            lines.start();
+        }
+
+        log.debug("Успешно выгружены все бронирования создателя с id = {}", userId);
+    }
+
+    private ResponseEntity.BodyBuilder withNextCursor(List<BookingView> bookings, int size) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, BookingCursor.of(bookings.get(bookings.size() - 1)).encode());
+        }
+
+        return responseBuilder;
+    }
 
-        return ResponseEntity.ok().body(bookingDtoList).getBody();
+    private static final class NdjsonWriter implements Closeable {
+        private final HttpServletResponse response;
+        private final ObjectMapper objectMapper;
+        private final ObjectWriter writer;
+        private JsonGenerator generator;
+
+        private NdjsonWriter(HttpServletResponse response, ObjectMapper objectMapper) {
+            this.response = response;
+            this.objectMapper = objectMapper;
+            this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        private void start() throws IOException {
+            if (generator != null) {
+                return;
+            }
+
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+            generator = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+        }
+
+        private void write(BookingDto booking) {
+            try {
+                start();
+                writer.writeValue(generator, booking);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (generator != null) {
+                generator.close();
+            }
+        }
     }
-}
\ No newline at end of file
+}
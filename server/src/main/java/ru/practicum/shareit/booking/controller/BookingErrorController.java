@@ -1,11 +1,14 @@
 package ru.practicum.shareit.booking.controller;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.exception.ChangeStatusException;
+import ru.practicum.shareit.booking.exception.InvalidCursorException;
 import ru.practicum.shareit.booking.exception.ItemUnavailableException;
 import ru.practicum.shareit.booking.exception.PermissionException;
 import ru.practicum.shareit.booking.exception.SelfReservationException;
@@ -15,7 +18,8 @@ import java.util.NoSuchElementException;
 
 @RestControllerAdvice(value = "ru.practicum.shareit.booking.controller")
 public class BookingErrorController {
-    @ExceptionHandler({ItemUnavailableException.class, ChangeStatusException.class, MissingRequestHeaderException.class})
+    @ExceptionHandler({ItemUnavailableException.class, ChangeStatusException.class, MissingRequestHeaderException.class,
+            InvalidCursorException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleException(final Exception e) {
         return new ErrorResponse(e.getMessage());
@@ -27,6 +31,18 @@ public class BookingErrorController {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException e) {
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleOptimisticLockingFailureException(final OptimisticLockingFailureException e) {
+        return new ErrorResponse("Данные были изменены параллельно, повторите запрос");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final Throwable e) {
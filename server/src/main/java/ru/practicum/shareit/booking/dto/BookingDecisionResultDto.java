@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BookingDecisionResultDto {
+    private Integer bookingId;
+    private BookingStatus status;
+    private String error;
+}
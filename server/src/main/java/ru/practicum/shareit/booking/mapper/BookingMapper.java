@@ -1,15 +1,24 @@
 package ru.practicum.shareit.booking.mapper;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingDecisionResult;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.model.ItemBooking;
+import ru.practicum.shareit.booking.model.TimelineBooking;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
 
 public class BookingMapper {
     public static BookingDto toBookingDto(Booking booking) {
@@ -25,6 +34,38 @@ public class BookingMapper {
         return bookingDto;
     }
 
+    public static BookingDto toBookingDto(BookingView booking) {
+        BookingDto bookingDto = new BookingDto();
+        ItemDto itemDto = new ItemDto();
+        UserDto owner = new UserDto();
+        UserDto booker = new UserDto();
+
+        owner.setId(booking.getOwnerId());
+        owner.setName(booking.getOwnerName());
+        owner.setEmail(booking.getOwnerEmail());
+
+        itemDto.setId(booking.getItemId());
+        itemDto.setName(booking.getItemName());
+        itemDto.setDescription(booking.getItemDescription());
+        itemDto.setAvailable(booking.getItemAvailable());
+        itemDto.setOwner(owner);
+        itemDto.setComments(List.of());
+        itemDto.setRequestId(booking.getItemRequestId());
+
+        booker.setId(booking.getBookerId());
+        booker.setName(booking.getBookerName());
+        booker.setEmail(booking.getBookerEmail());
+
+        bookingDto.setId(booking.getId());
+        bookingDto.setStart(booking.getStart());
+        bookingDto.setEnd(booking.getEnd());
+        bookingDto.setItem(itemDto);
+        bookingDto.setBooker(booker);
+        bookingDto.setStatus(booking.getStatus());
+
+        return bookingDto;
+    }
+
     public static Booking toBooking(BookingCreationDto bookingDto, Item item, User user) {
         Booking booking = new Booking();
 
@@ -36,6 +77,28 @@ public class BookingMapper {
         return booking;
     }
 
+    public static BookingBatchResultDto toBookingBatchResultDto(BookingBatchResult result) {
+        BookingBatchResultDto resultDto = new BookingBatchResultDto();
+
+        if (result.getBooking() != null) {
+            resultDto.setBooking(toBookingDto(result.getBooking()));
+        }
+
+        resultDto.setError(result.getError());
+
+        return resultDto;
+    }
+
+    public static BookingDecisionResultDto toBookingDecisionResultDto(BookingDecisionResult result) {
+        BookingDecisionResultDto resultDto = new BookingDecisionResultDto();
+
+        resultDto.setBookingId(result.getBookingId());
+        resultDto.setStatus(result.getStatus());
+        resultDto.setError(result.getError());
+
+        return resultDto;
+    }
+
     public static ItemBooking toItemBooking(Booking booking) {
         ItemBooking itemBooking = new ItemBooking();
 
@@ -45,6 +108,15 @@ public class BookingMapper {
         return itemBooking;
     }
 
+    public static ItemBooking toItemBooking(TimelineBooking booking) {
+        ItemBooking itemBooking = new ItemBooking();
+
+        itemBooking.setId(booking.getId());
+        itemBooking.setBookerId(booking.getBookerId());
+
+        return itemBooking;
+    }
+
     public static ItemBookingDto toItemBookingDto(ItemBooking booking) {
         ItemBookingDto itemBookingDto = new ItemBookingDto();
 
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingBatchResult {
+    private final Booking booking;
+    private final String error;
+
+    public static BookingBatchResult created(Booking booking) {
+        return new BookingBatchResult(booking, null);
+    }
+
+    public static BookingBatchResult failed(String error) {
+        return new BookingBatchResult(null, error);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingDecisionResult {
+    private final Integer bookingId;
+    private final BookingStatus status;
+    private final String error;
+
+    public static BookingDecisionResult applied(Integer bookingId, BookingStatus status) {
+        return new BookingDecisionResult(bookingId, status, null);
+    }
+
+    public static BookingDecisionResult failed(Integer bookingId, String error) {
+        return new BookingDecisionResult(bookingId, null, error);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingView {
+    private final Integer id;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final BookingStatus status;
+    private final Integer itemId;
+    private final String itemName;
+    private final String itemDescription;
+    private final Boolean itemAvailable;
+    private final Integer itemRequestId;
+    private final Integer ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+    private final Integer bookerId;
+    private final String bookerName;
+    private final String bookerEmail;
+}
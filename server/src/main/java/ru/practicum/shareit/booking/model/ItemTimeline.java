@@ -0,0 +1,43 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ItemTimeline {
+    public static final ItemTimeline EMPTY = new ItemTimeline(List.of());
+
+    private final List<TimelineBooking> bookings;
+
+    public ItemTimeline(List<TimelineBooking> bookings) {
+        this.bookings = List.copyOf(bookings);
+    }
+
+    public TimelineBooking findLast(LocalDateTime now) {
+        int index = findFirstStartedAfter(now);
+
+        return index > 0 ? bookings.get(index - 1) : null;
+    }
+
+    public TimelineBooking findNext(LocalDateTime now) {
+        int index = findFirstStartedAfter(now);
+
+        return index < bookings.size() ? bookings.get(index) : null;
+    }
+
+    private int findFirstStartedAfter(LocalDateTime now) {
+        int low = 0;
+        int high = bookings.size();
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (bookings.get(middle).getStart().isAfter(now)) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class TimelineBooking {
+    private final Integer id;
+    private final Integer bookerId;
+    private final Integer itemId;
+    private final LocalDateTime start;
+}
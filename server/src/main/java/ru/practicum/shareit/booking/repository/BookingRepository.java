@@ -1,44 +1,86 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingDecisionView;
+import ru.practicum.shareit.booking.model.BookingIntervalView;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.model.TimelineBooking;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
-    Page<Booking> findByBookerIdOrderByStartDesc(int bookerId, Pageable pageable);
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingViewRepository {
+    @Override
+    @EntityGraph(Booking.CARD_GRAPH)
+    Optional<Booking> findById(Integer id);
 
-    Page<Booking> findByBookerIdAndStartIsAfterOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+            "WHERE b.booker.id = :userId AND b.item.id = :itemId AND b.end < :now")
+    boolean existsFinishedBooking(@Param("userId") int userId, @Param("itemId") int itemId,
+                                  @Param("now") LocalDateTime now);
 
-    Page<Booking> findByBookerIdAndStatusEqualsOrderByStartDesc(int bookerId, BookingStatus state, Pageable pageable);
+    @Query("SELECT b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses AND b.end > :now ORDER BY b.start")
+    List<BookingIntervalView> findByItemIdAndStatusInAndEndIsAfterOrderByStart(
+            @Param("itemId") int itemId,
+            @Param("statuses") List<BookingStatus> statuses,
+            @Param("now") LocalDateTime now
+    );
 
-    Page<Booking> findByBookerIdAndEndIsBeforeOrderByStartDesc(int bookerId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.booker.id = :bookerId AND b.status IN :statuses AND b.end > :now")
+    List<Integer> findItemIdsByBookerIdAndStatusInAndEndIsAfter(
+            @Param("bookerId") int bookerId,
+            @Param("statuses") List<BookingStatus> statuses,
+            @Param("now") LocalDateTime now
+    );
 
-    Page<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(int bookerId, LocalDateTime start,
-                                                                              LocalDateTime end, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingDecisionView(b.id, i.id, i.owner.id, b.status, " +
+            "b.start, b.end) FROM Booking b JOIN b.item i WHERE b.id IN :ids")
+    List<BookingDecisionView> findDecisionViews(@Param("ids") Collection<Integer> ids);
 
-    Page<Booking> findByItemOwnerIdOrderByStartDesc(int itemOwnerId, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id IN :ids AND b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING")
+    int updateWaitingStatus(@Param("ids") Collection<Integer> ids, @Param("status") BookingStatus status);
 
-    Page<Booking> findByItemOwnerIdAndStartIsAfterOrderByStartDesc(int itemOwnerId, LocalDateTime now, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = CASE WHEN b.id IN :approvedIds THEN :approved ELSE :rejected END, " +
+            "b.version = b.version + 1 " +
+            "WHERE (b.id IN :approvedIds OR b.id IN :rejectedIds) " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING")
+    int updateWaitingStatuses(@Param("approvedIds") Collection<Integer> approvedIds,
+                              @Param("rejectedIds") Collection<Integer> rejectedIds,
+                              @Param("approved") BookingStatus approved,
+                              @Param("rejected") BookingStatus rejected);
 
-    Page<Booking> findByItemOwnerIdAndStatusEqualsOrderByStartDesc(int itemOwnerId, BookingStatus state, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.booking.model.TimelineBooking(b.id, b.booker.id, b.item.id, b.start) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "ORDER BY b.start, b.id")
+    List<TimelineBooking> findApprovedTimelines(@Param("itemIds") Collection<Integer> itemIds);
 
-    Page<Booking> findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(int itemOwnerId, LocalDateTime now, Pageable pageable);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b " +
+            "WHERE b.booker.id = :bookerId AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED")
+    List<Integer> findApprovedItemIdsByBookerId(@Param("bookerId") int bookerId);
 
-    Page<Booking> findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(int itemOwnerId, LocalDateTime start,
-                                                                                 LocalDateTime end, Pageable pageable);
-
-    Optional<Booking> getFirstByItemIdAndStartIsLessThanEqualAndStatusEqualsOrderByStartDesc(int itemId, LocalDateTime now,
-                                                                                             BookingStatus status);
-
-    Optional<Booking> getFirstByItemIdAndStartIsGreaterThanAndStatusEqualsOrderByStart(int itemId, LocalDateTime now,
-                                                                                       BookingStatus status);
-
-    Optional<Booking> getFirstByBookerIdAndItemIdAndEndIsBefore(int userId, int itemId, LocalDateTime now);
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT new ru.practicum.shareit.booking.model.BookingView(b.id, b.start, b.end, b.status, i.id, i.name, " +
+            "i.description, i.available, i.request.id, o.id, o.name, o.email, u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN i.owner o JOIN b.booker u WHERE o.id = :ownerId " +
+            "ORDER BY b.start DESC, b.id DESC")
+    Stream<BookingView> streamOwnerBookings(@Param("ownerId") int ownerId);
 }
\ No newline at end of file
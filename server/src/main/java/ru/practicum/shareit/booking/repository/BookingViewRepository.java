@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingViewRepository {
+    List<BookingView> findBookerBookings(int bookerId, BookingStatus status, LocalDateTime now, int from, int size);
+
+    List<BookingView> findOwnerBookings(int ownerId, BookingStatus status, LocalDateTime now, int from, int size);
+
+    List<BookingView> findBookerBookingsAfter(int bookerId, BookingStatus status, LocalDateTime now,
+                                              @Nullable BookingCursor cursor, int size);
+
+    List<BookingView> findOwnerBookingsAfter(int ownerId, BookingStatus status, LocalDateTime now,
+                                             @Nullable BookingCursor cursor, int size);
+}
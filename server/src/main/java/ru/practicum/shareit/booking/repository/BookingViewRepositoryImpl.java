@@ -0,0 +1,111 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingViewRepositoryImpl implements BookingViewRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findBookerBookings(int bookerId, BookingStatus status, LocalDateTime now, int from,
+                                                int size) {
+        return findBookings(false, bookerId, status, now, null, from, size);
+    }
+
+    @Override
+    public List<BookingView> findOwnerBookings(int ownerId, BookingStatus status, LocalDateTime now, int from,
+                                               int size) {
+        return findBookings(true, ownerId, status, now, null, from, size);
+    }
+
+    @Override
+    public List<BookingView> findBookerBookingsAfter(int bookerId, BookingStatus status, LocalDateTime now,
+                                                     @Nullable BookingCursor cursor, int size) {
+        return findBookings(false, bookerId, status, now, cursor, 0, size);
+    }
+
+    @Override
+    public List<BookingView> findOwnerBookingsAfter(int ownerId, BookingStatus status, LocalDateTime now,
+                                                    @Nullable BookingCursor cursor, int size) {
+        return findBookings(true, ownerId, status, now, cursor, 0, size);
+    }
+
+    private List<BookingView> findBookings(boolean byOwner, int userId, BookingStatus status, LocalDateTime now,
+                                           @Nullable BookingCursor cursor, int from, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingView> query = cb.createQuery(BookingView.class);
+        Root<Booking> booking = query.from(Booking.class);
+
+        Join<Booking, Item> item = booking.join("item");
+        Join<Item, User> owner = item.join("owner");
+        Join<Booking, User> booker = booking.join("booker");
+
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Integer> id = booking.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (byOwner) {
+            predicates.add(cb.equal(item.get("owner").get("id"), userId));
+        } else {
+            predicates.add(cb.equal(booking.get("booker").get("id"), userId));
+        }
+
+        switch (status) {
+            case ALL:
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, now));
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThan(start, now));
+                predicates.add(cb.greaterThan(end, now));
+                break;
+            default:
+                predicates.add(cb.equal(booking.get("status"), status));
+        }
+
+        if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(start, cursor.getStart()),
+                    cb.and(cb.equal(start, cursor.getStart()), cb.lessThan(id, cursor.getId()))
+            ));
+        }
+
+        query.select(cb.construct(BookingView.class,
+                        id, start, end, booking.get("status"),
+                        item.get("id"), item.get("name"), item.get("description"), item.get("available"),
+                        item.get("request").get("id"),
+                        owner.get("id"), owner.get("name"), owner.get("email"),
+                        booker.get("id"), booker.get("name"), booker.get("email")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(from)
+                .setMaxResults(size)
+                .getResultList();
+    }
+}
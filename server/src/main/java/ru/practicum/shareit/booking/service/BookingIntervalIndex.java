@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface BookingIntervalIndex {
+    void reserve(int itemId, LocalDateTime start, LocalDateTime end);
+
+    void release(int itemId, LocalDateTime start, LocalDateTime end);
+
+    void evict(Collection<Integer> itemIds);
+}
@@ -1,19 +1,35 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingDecisionResult;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     Booking addBooking(BookingCreationDto booking, int userId);
 
+    List<BookingBatchResult> addBookings(List<BookingCreationDto> bookings, int userId);
+
     Booking approveOrRejectBooking(int userId, int bookingId, Boolean approved);
 
+    List<BookingDecisionResult> approveOrRejectBookings(int userId, List<BookingDecisionDto> decisions);
+
     Booking getBookingById(int bookingId, int userId);
 
-    List<Booking> getUserBookings(int userId, BookingStatus status, int from, int size);
+    List<BookingView> getUserBookings(int userId, BookingStatus status, int from, int size);
+
+    List<BookingView> getOwnerBookings(int userId, BookingStatus status, int from, int size);
+
+    List<BookingView> getUserBookingsAfter(int userId, BookingStatus status, BookingCursor cursor, int size);
+
+    List<BookingView> getOwnerBookingsAfter(int userId, BookingStatus status, BookingCursor cursor, int size);
 
-    List<Booking> getOwnerBookings(int userId, BookingStatus status, int from, int size);
+    void exportOwnerBookings(int userId, Consumer<BookingView> consumer);
 }
\ No newline at end of file
@@ -2,63 +2,123 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
 import ru.practicum.shareit.booking.exception.ChangeStatusException;
 import ru.practicum.shareit.booking.exception.ItemUnavailableException;
 import ru.practicum.shareit.booking.exception.SelfReservationException;
 import ru.practicum.shareit.booking.exception.PermissionException;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingDecisionResult;
+import ru.practicum.shareit.booking.model.BookingDecisionView;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Transactional(readOnly = true)
 @Slf4j
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
-    private final Sort sort = Sort.by("start").descending();
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingTimeline bookingTimeline;
 
     @Override
+    @Transactional
     public Booking addBooking(BookingCreationDto booking, int userId) {
-        log.info("Получен запрос на создание бронирования от пользователя с id = {} вещи с id = {}", userId,
+        log.debug("Получен запрос на создание бронирования от пользователя с id = {} вещи с id = {}", userId,
                 booking.getItemId());
 
         User user = userService.getUserById(userId);
 
         Item item = itemService.getItemByIdForBookingAndComment(booking.getItemId());
 
-        if (!item.getOwner().getId().equals(userId)) {
-            if (!item.getAvailable()) {
-                throw new ItemUnavailableException("Нельзя забронировать недоступную вещь");
-            }
+        reserve(booking, item, userId);
+
+        return saveReserved(() -> bookingRepository.saveAndFlush(BookingMapper.toBooking(booking, item, user)));
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResult> addBookings(List<BookingCreationDto> bookings, int userId) {
+        log.debug("Получен запрос на создание {} бронирований от пользователя с id = {}", bookings.size(), userId);
+
+        User user = userService.getUserById(userId);
+
+        Map<Integer, Item> items = itemService.getItemsByIdForBooking(bookings.stream()
+                .map(BookingCreationDto::getItemId)
+                .collect(Collectors.toSet()));
+
+        List<BookingBatchResult> results = new ArrayList<>(bookings.size());
+        List<Booking> reservedBookings = new ArrayList<>(bookings.size());
+
+        for (BookingCreationDto booking : bookings) {
+            Item item = items.get(booking.getItemId());
+
+            try {
+                if (item == null) {
+                    log.warn("Отсутствует вещь с id = {}", booking.getItemId());
+
+                    throw new NoSuchElementException(String.format("Отсутствует вещь с id = %d", booking.getItemId()));
+                }
+
+                reserve(booking, item, userId);
 
-            return bookingRepository.save(BookingMapper.toBooking(booking, item, user));
+                Booking reservedBooking = BookingMapper.toBooking(booking, item, user);
+
+                reservedBookings.add(reservedBooking);
+                results.add(BookingBatchResult.created(reservedBooking));
+            } catch (NoSuchElementException | SelfReservationException | ItemUnavailableException
+                     | BookingOverlapException e) {
+                results.add(BookingBatchResult.failed(e.getMessage()));
+            }
         }
 
-        log.warn("Создатель с id = {} пытается создать бронирование со своей вещью", userId);
+        saveReserved(() -> {
+            bookingRepository.saveAll(reservedBookings);
+            bookingRepository.flush();
 
-        throw new SelfReservationException("Создатель не может бронированить свою вещь");
+            return reservedBookings;
+        });
+
+        return results;
     }
 
     @Override
+    @Transactional
     public Booking approveOrRejectBooking(int userId, int bookingId, Boolean approved) {
-        log.info("Получен запрос на подтверждение бронирования с id = {} от пользователя с id = {}", bookingId, userId);
+        log.debug("Получен запрос на подтверждение бронирования с id = {} от пользователя с id = {}", bookingId, userId);
 
         Booking booking = getBookingById(bookingId, userId);
 
@@ -70,7 +130,15 @@ public class BookingServiceImpl implements BookingService {
                     booking.setStatus(BookingStatus.REJECTED);
                 }
 
-                return bookingRepository.save(booking);
+                Booking savedBooking = bookingRepository.saveAndFlush(booking);
+
+                if (booking.getStatus().equals(BookingStatus.REJECTED)) {
+                    bookingIntervalIndex.release(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+                } else {
+                    bookingTimeline.evict(List.of(booking.getItem().getId()));
+                }
+
+                return savedBooking;
             }
 
             log.warn("Пользователь с id = {} пытается повторно изменить статус", userId);
@@ -78,16 +146,74 @@ public class BookingServiceImpl implements BookingService {
             throw new ChangeStatusException("Нельзя повтоно изменить статус после подтверждения или отмены бронирования");
         }
 
-        log.info("Бронирование пытаеся подтвердить не владелец с id = {}", userId);
+        log.debug("Бронирование пытаеся подтвердить не владелец с id = {}", userId);
 
         throw new PermissionException("Только создатель может подтверждать бронирование");
     }
 
+    @Override
+    @Transactional
+    public List<BookingDecisionResult> approveOrRejectBookings(int userId, List<BookingDecisionDto> decisions) {
+        log.debug("Получен запрос на подтверждение {} бронирований от пользователя с id = {}", decisions.size(), userId);
+
+        userService.checkUserExists(userId);
+
+        Map<Integer, BookingDecisionView> bookings = bookingRepository.findDecisionViews(decisions.stream()
+                        .map(BookingDecisionDto::getBookingId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(BookingDecisionView::getId, Function.identity()));
+
+        List<BookingDecisionResult> results = new ArrayList<>(decisions.size());
+        List<BookingDecisionView> approvedBookings = new ArrayList<>();
+        List<BookingDecisionView> rejectedBookings = new ArrayList<>();
+        Set<Integer> decidedIds = new HashSet<>();
+
+        for (BookingDecisionDto decision : decisions) {
+            BookingDecisionView booking = bookings.get(decision.getBookingId());
+
+            if (booking == null) {
+                results.add(BookingDecisionResult.failed(decision.getBookingId(),
+                        String.format("Отсутвует бронирование с id = %d", decision.getBookingId())));
+            } else if (!booking.getOwnerId().equals(userId)) {
+                log.debug("Бронирование с id = {} пытаеся подтвердить не владелец с id = {}", booking.getId(), userId);
+
+                results.add(BookingDecisionResult.failed(booking.getId(),
+                        "Только создатель может подтверждать бронирование"));
+            } else if (!booking.getStatus().equals(BookingStatus.WAITING) || !decidedIds.add(booking.getId())) {
+                results.add(BookingDecisionResult.failed(booking.getId(),
+                        "Нельзя повтоно изменить статус после подтверждения или отмены бронирования"));
+            } else if (Boolean.TRUE.equals(decision.getApproved())) {
+                approvedBookings.add(booking);
+                results.add(BookingDecisionResult.applied(booking.getId(), BookingStatus.APPROVED));
+            } else {
+                rejectedBookings.add(booking);
+                results.add(BookingDecisionResult.applied(booking.getId(), BookingStatus.REJECTED));
+            }
+        }
+
+        int updated = updateWaitingStatuses(getIds(approvedBookings), getIds(rejectedBookings));
+
+        if (updated != decidedIds.size()) {
+            log.warn("Статус {} из {} бронирований был изменен параллельно", decidedIds.size() - updated,
+                    decidedIds.size());
+
+            throw new ChangeStatusException("Статус бронирований был изменен параллельно, повторите запрос");
+        }
+
+        rejectedBookings.forEach(booking -> bookingIntervalIndex.release(booking.getItemId(), booking.getStart(),
+                booking.getEnd()));
+        bookingTimeline.evict(approvedBookings.stream()
+                .map(BookingDecisionView::getItemId)
+                .collect(Collectors.toSet()));
+
+        return results;
+    }
+
     @Override
     public Booking getBookingById(int bookingId, int userId) {
-        log.info("Получен запрос на получение бронирования с id = {}", bookingId);
+        log.debug("Получен запрос на получение бронирования с id = {}", bookingId);
 
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
         Optional<Booking> booking = bookingRepository.findById(bookingId);
 
@@ -103,108 +229,116 @@ public class BookingServiceImpl implements BookingService {
             throw new PermissionException("Только создатель и клиент могут посмотреть бронирование");
         }
 
-        log.info("Отсутвует бронирование с id = {}", bookingId);
+        log.debug("Отсутвует бронирование с id = {}", bookingId);
 
         throw new NoSuchElementException(String.format("Отсутвует бронирование с id = %d", bookingId));
     }
 
     @Override
-    public List<Booking> getUserBookings(int userId, BookingStatus status, int from, int size) {
-        List<Booking> bookings;
-
-        Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size, sort);
+    public List<BookingView> getUserBookings(int userId, BookingStatus status, int from, int size) {
+        log.debug("Получен запрос на отправку бронирований пользователю с id = {} с параметром {}", userId, status);
 
-        switch (status) {
-            case ALL:
-                log.info("Получен запрос на отправку всех бронирований пользовтелю с id = {}", userId);
+        userService.checkUserExists(userId);
 
-                userService.getUserById(userId);
-
-                bookings = bookingRepository.findByBookerIdOrderByStartDesc(userId, pageable).toList();
-                break;
-            case FUTURE:
-                log.info("Получен запрос на отправку всех будущих бронирований пользователю с id = {}", userId);
+        return bookingRepository.findBookerBookings(userId, status, LocalDateTime.now(), getOffset(from, size), size);
+    }
 
-                userService.getUserById(userId);
+    @Override
+    public List<BookingView> getOwnerBookings(int userId, BookingStatus status, int from, int size) {
+        log.debug("Получен запрос на отправку бронирований создателю с id = {} с параметром {}", userId, status);
 
-                bookings = bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case PAST:
-                log.info("Получен запрос на отправку всех прошлых бронирований пользователю с id = {}", userId);
+        userService.checkUserExists(userId);
 
-                userService.getUserById(userId);
+        return bookingRepository.findOwnerBookings(userId, status, LocalDateTime.now(), getOffset(from, size), size);
+    }
 
-                bookings = bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case CURRENT:
-                log.info("Получен запрос на отправку всех текущих бронирований пользователю с id = {}", userId);
+    @Override
+    public List<BookingView> getUserBookingsAfter(int userId, BookingStatus status, BookingCursor cursor, int size) {
+        log.debug("Получен запрос на отправку бронирований пользователю с id = {} с параметром {} после курсора",
+                userId, status);
 
-                userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
-                bookings = bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageable).toList();
-                break;
-            default:
-                log.info("Получен запрос на отправку всех бронирований пользовтелю с id = {} с параметром {}", userId, status);
+        return bookingRepository.findBookerBookingsAfter(userId, status, LocalDateTime.now(), cursor, size);
+    }
 
-                userService.getUserById(userId);
+    @Override
+    public List<BookingView> getOwnerBookingsAfter(int userId, BookingStatus status, BookingCursor cursor, int size) {
+        log.debug("Получен запрос на отправку бронирований создателю с id = {} с параметром {} после курсора",
+                userId, status);
 
-                bookings = bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(userId, status, pageable)
-                        .toList();
-        }
+        userService.checkUserExists(userId);
 
-        return bookings;
+        return bookingRepository.findOwnerBookingsAfter(userId, status, LocalDateTime.now(), cursor, size);
     }
 
     @Override
-    public List<Booking> getOwnerBookings(int userId, BookingStatus status, int from, int size) {
-        List<Booking> bookings;
+    public void exportOwnerBookings(int userId, Consumer<BookingView> consumer) {
+        log.debug("Получен запрос на выгрузку всех бронирований создателя с id = {}", userId);
 
-        Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size, sort);
+        userService.checkUserExists(userId);
 
-        switch (status) {
-            case ALL:
-                log.info("Получен запрос на отправку всех бронирований создателю с id = {}", userId);
+        try (Stream<BookingView> bookings = bookingRepository.streamOwnerBookings(userId)) {
+            bookings.forEach(consumer);
+        }
+    }
 
-                userService.getUserById(userId);
+    private int updateWaitingStatuses(List<Integer> approvedIds, List<Integer> rejectedIds) {
+        if (approvedIds.isEmpty() && rejectedIds.isEmpty()) {
+            return 0;
+        }
 
-                bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(userId, pageable).toList();
-                break;
-            case FUTURE:
-                log.info("Получен запрос на отправку всех будущих бронирований создателю с id = {}", userId);
+        if (rejectedIds.isEmpty()) {
+            return bookingRepository.updateWaitingStatus(approvedIds, BookingStatus.APPROVED);
+        }
 
-                userService.getUserById(userId);
+        if (approvedIds.isEmpty()) {
+            return bookingRepository.updateWaitingStatus(rejectedIds, BookingStatus.REJECTED);
+        }
 
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(userId, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case PAST:
-                log.info("Получен запрос на отправку всех прошлых бронирований создателю с id = {}", userId);
+        return bookingRepository.updateWaitingStatuses(approvedIds, rejectedIds, BookingStatus.APPROVED,
+                BookingStatus.REJECTED);
+    }
 
-                userService.getUserById(userId);
+    private List<Integer> getIds(List<BookingDecisionView> bookings) {
+        return bookings.stream().map(BookingDecisionView::getId).collect(Collectors.toList());
+    }
+
+    private void reserve(BookingCreationDto booking, Item item, int userId) {
+        if (item.getOwner().getId().equals(userId)) {
+            log.warn("Создатель с id = {} пытается создать бронирование со своей вещью", userId);
+
+            throw new SelfReservationException("Создатель не может бронированить свою вещь");
+        }
 
-                bookings = bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(userId, LocalDateTime.now(),
-                        pageable).toList();
-                break;
-            case CURRENT:
-                log.info("Получен запрос на отправку всех текущих бронирований создателю с id = {}", userId);
+        if (!item.getAvailable()) {
+            throw new ItemUnavailableException("Нельзя забронировать недоступную вещь");
+        }
 
-                userService.getUserById(userId);
+        bookingIntervalIndex.reserve(item.getId(), booking.getStart(), booking.getEnd());
+    }
 
-                bookings = bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(userId,
-                        LocalDateTime.now(), LocalDateTime.now(), pageable).toList();
-                break;
-            default:
-                log.info("Получен запрос на отправку всех бронирований создателю с id = {} с параметром {}", userId, status);
+    private <T> T saveReserved(Supplier<T> save) {
+        try {
+            return save.get();
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                log.debug("Бронирование пересекается с уже существующим в базе данных");
 
-                userService.getUserById(userId);
+                throw new BookingOverlapException("Вещь уже забронирована на это время");
+            }
 
-                bookings = bookingRepository.findByItemOwnerIdAndStatusEqualsOrderByStartDesc(userId, status, pageable)
-                        .toList();
+            throw e;
         }
+    }
+
+    private boolean isExclusionViolation(DataIntegrityViolationException e) {
+        Throwable cause = e.getMostSpecificCause();
+
+        return cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState());
+    }
 
-        return bookings;
+    private int getOffset(int from, int size) {
+        return from > 0 ? from / size * size : 0;
     }
-}
\ No newline at end of file
+}
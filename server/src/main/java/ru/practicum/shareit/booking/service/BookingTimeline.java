@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.ItemTimeline;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface BookingTimeline {
+    Map<Integer, ItemTimeline> getTimelines(Collection<Integer> itemIds);
+
+    void evict(Collection<Integer> itemIds);
+}
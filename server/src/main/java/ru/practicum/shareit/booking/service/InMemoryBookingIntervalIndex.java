@@ -0,0 +1,179 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.model.BookingIntervalView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryBookingIntervalIndex implements BookingIntervalIndex {
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final long CACHED_ITEMS_SIZE = 10_000;
+    private static final Duration CACHED_ITEMS_TTL = Duration.ofMinutes(30);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Integer, ItemIntervals> itemsIntervals = Caffeine.newBuilder()
+            .maximumSize(CACHED_ITEMS_SIZE)
+            .expireAfterWrite(CACHED_ITEMS_TTL)
+            .build();
+
+    @Override
+    public void reserve(int itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals itemIntervals = itemsIntervals.get(itemId, this::loadIntervals);
+
+        synchronized (itemIntervals) {
+            NavigableMap<LocalDateTime, LocalDateTime> intervals = itemIntervals.intervals;
+
+            removeFinished(intervals);
+
+            Map.Entry<LocalDateTime, LocalDateTime> previous = intervals.lowerEntry(end);
+
+            if (previous != null && previous.getValue().isAfter(start)) {
+                log.debug("Бронирование вещи с id = {} пересекается с уже существующим", itemId);
+
+                throw new BookingOverlapException("Вещь уже забронирована на это время");
+            }
+
+            intervals.put(start, end);
+        }
+
+        removeOnRollback(itemId, start, end);
+    }
+
+    @Override
+    public void release(int itemId, LocalDateTime start, LocalDateTime end) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseCommitted(itemId, start, end);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseCommitted(itemId, start, end);
+            }
+        });
+    }
+
+    @Override
+    public void evict(Collection<Integer> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            itemsIntervals.invalidateAll(itemIds);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemsIntervals.invalidateAll(itemIds);
+            }
+        });
+    }
+
+    private void removeOnRollback(int itemId, LocalDateTime start, LocalDateTime end) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    remove(itemId, start, end);
+                }
+            }
+        });
+    }
+
+    private void releaseCommitted(int itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals itemIntervals = itemsIntervals.getIfPresent(itemId);
+
+        if (itemIntervals == null) {
+            return;
+        }
+
+        synchronized (itemIntervals) {
+            if (!itemIntervals.coalesced) {
+                itemIntervals.intervals.remove(start, end);
+
+                return;
+            }
+        }
+
+        itemsIntervals.invalidate(itemId);
+    }
+
+    private void remove(int itemId, LocalDateTime start, LocalDateTime end) {
+        ItemIntervals itemIntervals = itemsIntervals.getIfPresent(itemId);
+
+        if (itemIntervals == null) {
+            return;
+        }
+
+        synchronized (itemIntervals) {
+            itemIntervals.intervals.remove(start, end);
+        }
+    }
+
+    private ItemIntervals loadIntervals(int itemId) {
+        List<BookingIntervalView> bookings = bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(itemId,
+                ACTIVE_STATUSES, LocalDateTime.now());
+
+        ItemIntervals itemIntervals = new ItemIntervals();
+        NavigableMap<LocalDateTime, LocalDateTime> intervals = itemIntervals.intervals;
+
+        for (BookingIntervalView booking : bookings) {
+            Map.Entry<LocalDateTime, LocalDateTime> last = intervals.lastEntry();
+
+            if (last == null || !last.getValue().isAfter(booking.getStart())) {
+                intervals.put(booking.getStart(), booking.getEnd());
+
+                continue;
+            }
+
+            itemIntervals.coalesced = true;
+
+            if (booking.getEnd().isAfter(last.getValue())) {
+                intervals.put(last.getKey(), booking.getEnd());
+            }
+        }
+
+        if (itemIntervals.coalesced) {
+            log.warn("Бронирования вещи с id = {} пересекаются, интервалы объединены", itemId);
+        }
+
+        return itemIntervals;
+    }
+
+    private void removeFinished(NavigableMap<LocalDateTime, LocalDateTime> intervals) {
+        LocalDateTime now = LocalDateTime.now();
+
+        while (!intervals.isEmpty() && !intervals.firstEntry().getValue().isAfter(now)) {
+            intervals.pollFirstEntry();
+        }
+    }
+
+    private static final class ItemIntervals {
+        private final NavigableMap<LocalDateTime, LocalDateTime> intervals = new TreeMap<>();
+        private boolean coalesced;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.ItemTimeline;
+import ru.practicum.shareit.booking.model.TimelineBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryBookingTimeline implements BookingTimeline {
+    private static final long CACHED_ITEMS_SIZE = 10_000;
+    private static final Duration CACHED_ITEMS_TTL = Duration.ofMinutes(30);
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Integer, ItemTimeline> itemsTimelines = Caffeine.newBuilder()
+            .maximumSize(CACHED_ITEMS_SIZE)
+            .expireAfterWrite(CACHED_ITEMS_TTL)
+            .build();
+
+    @Override
+    public Map<Integer, ItemTimeline> getTimelines(Collection<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return itemsTimelines.getAll(itemIds, this::loadTimelines);
+    }
+
+    @Override
+    public void evict(Collection<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        itemsTimelines.invalidateAll(itemIds);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    itemsTimelines.invalidateAll(itemIds);
+                }
+            });
+        }
+    }
+
+    private Map<Integer, ItemTimeline> loadTimelines(Iterable<? extends Integer> itemIds) {
+        Set<Integer> missingIds = StreamSupport.stream(itemIds.spliterator(), false).collect(Collectors.toSet());
+
+        log.info("Загружаем подтвержденные бронирования {} вещей", missingIds.size());
+
+        Map<Integer, List<TimelineBooking>> bookings = bookingRepository.findApprovedTimelines(missingIds).stream()
+                .collect(Collectors.groupingBy(TimelineBooking::getItemId));
+        Map<Integer, ItemTimeline> timelines = new HashMap<>();
+
+        for (Integer itemId : missingIds) {
+            List<TimelineBooking> itemBookings = bookings.get(itemId);
+
+            timelines.put(itemId, itemBookings == null ? ItemTimeline.EMPTY : new ItemTimeline(itemBookings));
+        }
+
+        return timelines;
+    }
+}
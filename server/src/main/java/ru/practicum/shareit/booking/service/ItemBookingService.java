@@ -1,9 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
-import ru.practicum.shareit.booking.model.ItemBooking;
+import ru.practicum.shareit.booking.model.ItemTimeline;
 
-public interface ItemBookingService {
-    ItemBooking getTheClosestBookingForItem(int userId, int itemId);
+import java.util.List;
+import java.util.Map;
 
-    ItemBooking getFutureBookingForItem(int userId, int itemId);
-}
\ No newline at end of file
+public interface ItemBookingService {
+    Map<Integer, ItemTimeline> getItemsTimelines(List<Integer> itemIds);
+}
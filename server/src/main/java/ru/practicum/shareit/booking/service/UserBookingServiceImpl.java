@@ -4,11 +4,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.exception.CommentNotAllowedException;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 @Service
 @Slf4j
@@ -18,13 +16,10 @@ public class UserBookingServiceImpl implements UserBookingService {
 
     @Override
     public void commentCheck(int userId, int itemId) {
-        log.info("Получен запрос на проверку возможности оставить отзыв пользователю с id = {} вещи с id = {}", userId,
+        log.debug("Получен запрос на проверку возможности оставить отзыв пользователю с id = {} вещи с id = {}", userId,
                 itemId);
 
-        Optional<Booking> booking = bookingRepository.getFirstByBookerIdAndItemIdAndEndIsBefore(userId, itemId,
-                LocalDateTime.now());
-
-        if (booking.isEmpty()) {
+        if (!bookingRepository.existsFinishedBooking(userId, itemId, LocalDateTime.now())) {
             log.warn("Нельзя оставить отзыв пользователю с id = {} вещи с id = {}", userId, itemId);
 
             throw new CommentNotAllowedException("Сейчас нельзя оставить отзыв, одна из причин - текущее бронирование " +
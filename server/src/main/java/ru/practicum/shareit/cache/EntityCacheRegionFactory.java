@@ -0,0 +1,58 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+public class EntityCacheRegionFactory extends JCacheRegionFactory {
+    private static final long CACHED_ENTITIES_SIZE = 10_000;
+    private static final Duration CACHED_ENTITIES_TTL = Duration.ofMinutes(30);
+    private static final long CACHED_QUERIES_SIZE = 1_000;
+    private static final Duration CACHED_QUERIES_TTL = Duration.ofMinutes(5);
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entities-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createCache(cacheManager, User.CACHE_REGION, CACHED_ENTITIES_SIZE, CACHED_ENTITIES_TTL);
+        createCache(cacheManager, Item.CACHE_REGION, CACHED_ENTITIES_SIZE, CACHED_ENTITIES_TTL);
+        createCache(cacheManager, ItemRequest.CACHE_REGION, CACHED_ENTITIES_SIZE, CACHED_ENTITIES_TTL);
+        createCache(cacheManager, DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, CACHED_QUERIES_SIZE,
+                CACHED_QUERIES_TTL);
+        cacheManager.createCache(DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, createConfiguration());
+
+        return cacheManager;
+    }
+
+    private void createCache(CacheManager cacheManager, String name, long size, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = createConfiguration();
+
+        configuration.setMaximumSize(OptionalLong.of(size));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+
+        cacheManager.createCache(name, configuration);
+    }
+
+    private CaffeineConfiguration<Object, Object> createConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+
+        return configuration;
+    }
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.comment.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.comment.model.Comment;
 
@@ -8,5 +11,7 @@ import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
-    List<Comment> getCommentByItemId(int itemId);
+    @EntityGraph(Comment.WITH_AUTHOR_GRAPH)
+    @Query("SELECT c FROM Comment c WHERE c.item.id IN :itemIds")
+    List<Comment> findByItemIdIn(@Param("itemIds") List<Integer> itemIds);
 }
\ No newline at end of file
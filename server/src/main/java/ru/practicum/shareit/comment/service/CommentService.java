@@ -8,5 +8,5 @@ import java.util.List;
 public interface CommentService {
     Comment addCommentToItem(int userId, int itemId, CreationCommentDto dto);
 
-    List<Comment> getItemComments(int itemId);
+    List<Comment> getItemsComments(List<Integer> itemIds);
 }
\ No newline at end of file
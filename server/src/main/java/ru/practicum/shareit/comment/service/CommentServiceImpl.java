@@ -3,6 +3,7 @@ package ru.practicum.shareit.comment.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.service.UserBookingService;
 import ru.practicum.shareit.comment.dto.CreationCommentDto;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
@@ -18,6 +19,7 @@ import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class CommentServiceImpl implements CommentService {
@@ -27,12 +29,13 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
 
     @Override
+    @Transactional
     public Comment addCommentToItem(int userId, int itemId, CreationCommentDto dto) {
-        log.info("Получен запрос на добавление отзыва от пользователя с id = {} вещи с id = {}", userId, itemId);
+        log.debug("Получен запрос на добавление отзыва от пользователя с id = {} вещи с id = {}", userId, itemId);
 
         User user = userService.getUserById(userId);
 
-        log.info("Получен запрос на получение вещи с id = {}", itemId);
+        log.debug("Получен запрос на получение вещи с id = {}", itemId);
 
         Optional<Item> item = itemRepository.findById(itemId);
 
@@ -48,9 +51,13 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    public List<Comment> getItemComments(int itemId) {
-        log.info("Получен запрос на отправку всех комментариев вещи с id = {}", itemId);
+    public List<Comment> getItemsComments(List<Integer> itemIds) {
+        log.debug("Получен запрос на отправку всех комментариев для {} вещей", itemIds.size());
 
-        return commentRepository.getCommentByItemId(itemId);
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+
+        return commentRepository.findByItemIdIn(itemIds);
     }
 }
\ No newline at end of file
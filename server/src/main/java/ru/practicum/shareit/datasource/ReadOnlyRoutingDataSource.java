@@ -0,0 +1,29 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+public class ReadOnlyRoutingDataSource extends AbstractRoutingDataSource {
+    private final ReadYourWritesGuard readYourWritesGuard;
+
+    public ReadOnlyRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard readYourWritesGuard) {
+        this.readYourWritesGuard = readYourWritesGuard;
+
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWritesGuard.recordWrite();
+
+            return DataSourceRoute.PRIMARY;
+        }
+
+        return readYourWritesGuard.isPinnedToPrimary() ? DataSourceRoute.PRIMARY : DataSourceRoute.REPLICA;
+    }
+}
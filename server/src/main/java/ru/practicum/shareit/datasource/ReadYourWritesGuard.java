@@ -0,0 +1,51 @@
+package ru.practicum.shareit.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+public class ReadYourWritesGuard {
+    private static final long RECENT_WRITERS_SIZE = 100_000;
+
+    private final ThreadLocal<String> currentSession = new ThreadLocal<>();
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesGuard(Duration window) {
+        recentWriters = Caffeine.newBuilder()
+                .maximumSize(RECENT_WRITERS_SIZE)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void enter(String session) {
+        currentSession.set(session);
+    }
+
+    public void exit() {
+        currentSession.remove();
+    }
+
+    public boolean isPinnedToPrimary() {
+        String session = currentSession.get();
+
+        return session != null && recentWriters.getIfPresent(session) != null;
+    }
+
+    public void recordWrite() {
+        String session = currentSession.get();
+
+        if (session == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(session, Boolean.TRUE);
+            }
+        });
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.dto.CreationCommentDto;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
@@ -20,8 +22,10 @@ import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,7 +43,7 @@ public class ItemController {
     ) {
         ItemDto createdItem = ItemMapper.toItemDto(itemService.createNewItem(item, userId));
 
-        log.info("Вещь с id = {} успешно создана", createdItem.getId());
+        log.debug("Вещь с id = {} успешно создана", createdItem.getId());
 
         return ResponseEntity.ok().body(createdItem).getBody();
     }
@@ -52,16 +56,27 @@ public class ItemController {
     ) {
         ItemDto updatedItem = ItemMapper.toItemDto(itemService.updateItem(item, itemId, userId));
 
-        log.info("Пользователь с id = {} успешно обновил вещь с id = {}", userId, itemId);
+        log.debug("Пользователь с id = {} успешно обновил вещь с id = {}", userId, itemId);
 
         return ResponseEntity.ok().body(updatedItem).getBody();
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto getItemDtoById(@RequestHeader("X-Sharer-User-Id") Integer userId, @PathVariable(value = "itemId") Integer itemId) {
-        ItemDto updatedItem = ItemMapper.toItemDto(itemService.getItemById(itemId, userId));
+    public ItemDto getItemDtoById(@RequestHeader("X-Sharer-User-Id") Integer userId, @PathVariable(value = "itemId") Integer itemId,
+                                  WebRequest request, HttpServletResponse response) {
+        List<ItemCardView> card = itemService.getItemCard(itemId, userId);
 
-        log.info("Вещь с id = {} успешно отправлена клиенту", itemId);
+        response.addHeader(HttpHeaders.VARY, "X-Sharer-User-Id");
+
+        if (request.checkNotModified(ItemMapper.toEntityTag(card))) {
+            log.debug("Вещь с id = {} не изменилась", itemId);
+
+            return null;
+        }
+
+        ItemDto updatedItem = ItemMapper.toItemDto(card);
+
+        log.debug("Вещь с id = {} успешно отправлена клиенту", itemId);
 
         return ResponseEntity.ok().body(updatedItem).getBody();
     }
@@ -71,19 +86,22 @@ public class ItemController {
         List<ItemDto> usersItems = itemService.getUsersItems(userId).stream().map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
 
-        log.info("Пользователю с id = {} отправлены все его вещи", userId);
+        log.debug("Пользователю с id = {} отправлены все его вещи", userId);
 
         return ResponseEntity.ok().body(usersItems).getBody();
     }
 
     @GetMapping("/search")
     public List<ItemDto> getItemsDtoForSearch(
-            @RequestHeader("X-Sharer-User-Id") Integer userId, @RequestParam(value = "text") String text
+            @RequestHeader("X-Sharer-User-Id") Integer userId,
+            @RequestParam(value = "text") String text,
+            @RequestParam(value = "from", defaultValue = "0") Integer from,
+            @RequestParam(value = "size", defaultValue = "10") Integer size
     ) {
-        List<ItemDto> itemsDto = itemService.getItemsForSearch(userId, text).stream().map(ItemMapper::toItemDto)
-                .collect(Collectors.toList());
+        List<ItemDto> itemsDto = itemService.getItemsForSearch(userId, text, from, size).stream()
+                .map(ItemMapper::toItemDto).collect(Collectors.toList());
 
-        log.info("Все доступные вещи по параметру отправлены клиенту");
+        log.debug("Все доступные вещи по параметру отправлены клиенту");
 
         return ResponseEntity.ok().body(itemsDto).getBody();
     }
@@ -96,7 +114,7 @@ public class ItemController {
     ) {
         CommentDto comment = CommentMapper.toCommentDto(commentService.addCommentToItem(userId, itemId, dto));
 
-        log.info("Пользователь с id = {} успешно добавил отзыв вещи с id = {}", userId, itemId);
+        log.debug("Пользователь с id = {} успешно добавил отзыв вещи с id = {}", userId, itemId);
 
         return ResponseEntity.ok().body(comment).getBody();
     }
@@ -1,14 +1,22 @@
 package ru.practicum.shareit.item.mapper;
 
+import org.springframework.util.DigestUtils;
+import ru.practicum.shareit.booking.dto.ItemBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.comment.mapper.CommentMapper;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
+import ru.practicum.shareit.item.model.RequestItemView;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.stream.Collectors;
 
 public class ItemMapper {
@@ -43,6 +51,84 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public static ItemDto toItemDto(List<ItemCardView> card) {
+        ItemCardView item = card.get(0);
+        ItemDto itemDto = new ItemDto();
+        UserDto owner = new UserDto();
+
+        owner.setId(item.getOwnerId());
+        owner.setName(item.getOwnerName());
+        owner.setEmail(item.getOwnerEmail());
+
+        itemDto.setId(item.getId());
+        itemDto.setName(item.getName());
+        itemDto.setDescription(item.getDescription());
+        itemDto.setAvailable(item.getAvailable());
+        itemDto.setOwner(owner);
+
+        if (item.getLastBookingId() != null) {
+            itemDto.setLastBooking(toItemBookingDto(item.getLastBookingId(), item.getLastBookerId()));
+        }
+
+        if (item.getNextBookingId() != null) {
+            itemDto.setNextBooking(toItemBookingDto(item.getNextBookingId(), item.getNextBookerId()));
+        }
+
+        itemDto.setComments(card.stream().filter(comment -> comment.getCommentId() != null)
+                .map(ItemMapper::toCommentDto).collect(Collectors.toList()));
+        itemDto.setRequestId(item.getRequestId());
+
+        return itemDto;
+    }
+
+    public static ItemDto toItemDto(RequestItemView item) {
+        ItemDto itemDto = new ItemDto();
+        UserDto owner = new UserDto();
+
+        owner.setId(item.getOwnerId());
+        owner.setName(item.getOwnerName());
+        owner.setEmail(item.getOwnerEmail());
+
+        itemDto.setId(item.getId());
+        itemDto.setName(item.getName());
+        itemDto.setDescription(item.getDescription());
+        itemDto.setAvailable(item.getAvailable());
+        itemDto.setOwner(owner);
+        itemDto.setComments(List.of());
+        itemDto.setRequestId(item.getRequestId());
+
+        return itemDto;
+    }
+
+    public static String toEntityTag(List<ItemCardView> card) {
+        ItemCardView item = card.get(0);
+        StringBuilder tag = new StringBuilder()
+                .append(item.getId()).append(':').append(item.getVersion())
+                .append(":owner=").append(item.getOwnerVersion());
+
+        if (item.getLastBookingId() != null) {
+            tag.append(":last=").append(item.getLastBookingId());
+        }
+
+        if (item.getNextBookingId() != null) {
+            tag.append(":next=").append(item.getNextBookingId());
+        }
+
+        card.stream().filter(comment -> comment.getCommentId() != null)
+                .forEach(comment -> tag.append(":comment=").append(comment.getCommentId())
+                        .append('/').append(comment.getCommentAuthorVersion()));
+
+        return toWeakEntityTag(tag);
+    }
+
+    public static String toEntityTag(RequestItemView item) {
+        return item.getId() + ":" + item.getVersion() + ":owner=" + item.getOwnerVersion();
+    }
+
+    public static String toWeakEntityTag(CharSequence tag) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(tag.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
     public static Item toItemWithRequest(ItemCreationDto itemCreationDto, User user, ItemRequest request) {
         Item item = toItemWithoutRequest(itemCreationDto, user);
 
@@ -61,4 +147,24 @@ public class ItemMapper {
 
         return item;
     }
+
+    private static ItemBookingDto toItemBookingDto(Integer id, Integer bookerId) {
+        ItemBookingDto itemBookingDto = new ItemBookingDto();
+
+        itemBookingDto.setId(id);
+        itemBookingDto.setBookerId(bookerId);
+
+        return itemBookingDto;
+    }
+
+    private static CommentDto toCommentDto(ItemCardView comment) {
+        CommentDto commentDto = new CommentDto();
+
+        commentDto.setId(comment.getCommentId());
+        commentDto.setText(comment.getCommentText());
+        commentDto.setAuthorName(comment.getCommentAuthorName());
+        commentDto.setCreated(comment.getCommentCreated());
+
+        return commentDto;
+    }
 }
\ No newline at end of file
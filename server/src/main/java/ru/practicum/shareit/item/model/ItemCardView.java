@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.model;
+
+import java.time.LocalDateTime;
+
+public interface ItemCardView {
+    Integer getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Integer getRequestId();
+
+    Integer getVersion();
+
+    Integer getOwnerId();
+
+    String getOwnerName();
+
+    String getOwnerEmail();
+
+    Integer getOwnerVersion();
+
+    Integer getLastBookingId();
+
+    Integer getLastBookerId();
+
+    Integer getNextBookingId();
+
+    Integer getNextBookerId();
+
+    Integer getCommentId();
+
+    String getCommentText();
+
+    String getCommentAuthorName();
+
+    Integer getCommentAuthorVersion();
+
+    LocalDateTime getCommentCreated();
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class RequestItemView {
+    private final Integer id;
+    private final String name;
+    private final String description;
+    private final Boolean available;
+    private final Integer ownerId;
+    private final String ownerName;
+    private final String ownerEmail;
+    private final Integer ownerVersion;
+    private final Integer requestId;
+    private final Integer version;
+}
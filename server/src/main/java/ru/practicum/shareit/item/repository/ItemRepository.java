@@ -1,17 +1,60 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
+import ru.practicum.shareit.item.model.RequestItemView;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Integer> {
-    List<Item> findByAvailableIsTrueAndNameContainingIgnoreCaseOrAvailableIsTrueAndDescriptionContainingIgnoreCase(
-            String name, String description);
+    @Override
+    @EntityGraph(Item.CARD_GRAPH)
+    Optional<Item> findById(Integer id);
 
+    @Override
+    @EntityGraph(Item.CARD_GRAPH)
+    List<Item> findAllById(Iterable<Integer> ids);
+
+    @EntityGraph(Item.CARD_GRAPH)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Item> findByOwnerIdOrderById(int id);
 
-    List<Item> findByRequestIdIn(List<Integer> requestsId);
+    @Query("SELECT i.id FROM Item i LEFT JOIN i.request r WHERE i.owner.id = :userId OR r.requestor.id = :userId")
+    List<Integer> findIdsByOwnerIdOrRequestorId(@Param("userId") int userId);
+
+    @Query("SELECT new ru.practicum.shareit.item.model.RequestItemView(i.id, i.name, i.description, i.available, " +
+            "o.id, o.name, o.email, o.version, i.request.id, i.version) " +
+            "FROM Item i JOIN i.owner o WHERE i.request.id IN :requestsId")
+    List<RequestItemView> findByRequestIdIn(@Param("requestsId") List<Integer> requestsId);
+
+    @Query(value = "SELECT i.id AS \"id\", i.name AS \"name\", i.description AS \"description\", " +
+            "i.is_available AS \"available\", i.request_id AS \"requestId\", i.version AS \"version\", " +
+            "o.id AS \"ownerId\", o.name AS \"ownerName\", o.email AS \"ownerEmail\", " +
+            "o.version AS \"ownerVersion\", " +
+            "lb.id AS \"lastBookingId\", lb.booker_id AS \"lastBookerId\", " +
+            "nb.id AS \"nextBookingId\", nb.booker_id AS \"nextBookerId\", " +
+            "c.id AS \"commentId\", c.text AS \"commentText\", a.name AS \"commentAuthorName\", " +
+            "a.version AS \"commentAuthorVersion\", " +
+            "c.created AS \"commentCreated\" " +
+            "FROM items i JOIN users o ON o.id = i.owner_id " +
+            "LEFT JOIN (SELECT id, booker_id, ROW_NUMBER() OVER (ORDER BY start_date DESC, id DESC) AS rn " +
+            "FROM bookings WHERE item_id = :itemId AND status = 'APPROVED' AND start_date <= :now) AS lb " +
+            "ON lb.rn = 1 AND i.owner_id = :userId " +
+            "LEFT JOIN (SELECT id, booker_id, ROW_NUMBER() OVER (ORDER BY start_date, id) AS rn " +
+            "FROM bookings WHERE item_id = :itemId AND status = 'APPROVED' AND start_date > :now) AS nb " +
+            "ON nb.rn = 1 AND i.owner_id = :userId " +
+            "LEFT JOIN comments c ON c.item_id = i.id LEFT JOIN users a ON a.id = c.author_id " +
+            "WHERE i.id = :itemId ORDER BY c.id", nativeQuery = true)
+    List<ItemCardView> findItemCard(@Param("itemId") int itemId, @Param("userId") int userId,
+                                    @Param("now") LocalDateTime now);
 }
\ No newline at end of file
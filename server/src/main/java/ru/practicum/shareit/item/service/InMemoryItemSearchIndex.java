@@ -0,0 +1,200 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchIndex implements ItemSearchIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int NAME_EXACT_SCORE = 4;
+    private static final int NAME_PREFIX_SCORE = 3;
+    private static final int DESCRIPTION_EXACT_SCORE = 2;
+    private static final int DESCRIPTION_PREFIX_SCORE = 1;
+
+    private final ItemRepository itemRepository;
+    private final NavigableMap<String, Set<Integer>> postings = new TreeMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadItems() {
+        rebuild(itemRepository.findAll());
+    }
+
+    @Override
+    public void rebuild(List<Item> items) {
+        lock.writeLock().lock();
+
+        try {
+            postings.clear();
+            documents.clear();
+            items.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("Поисковый индекс построен, проиндексировано вещей: {}", documents.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        lock.writeLock().lock();
+
+        try {
+            delete(item.getId());
+            put(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(int itemId) {
+        lock.writeLock().lock();
+
+        try {
+            delete(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> search(String text, int from, int size) {
+        Set<String> terms = tokenize(text);
+
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+
+        try {
+            Map<Integer, Integer> scores = null;
+
+            for (String term : terms) {
+                Map<Integer, Integer> termScores = score(term);
+
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((itemId, score) -> score + termScores.get(itemId));
+                }
+
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Integer, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(from)
+                    .limit(size)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Integer> score(String term) {
+        Map<Integer, Integer> termScores = new HashMap<>();
+
+        for (Map.Entry<String, Set<Integer>> posting : postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                .entrySet()) {
+            boolean exact = posting.getKey().equals(term);
+
+            for (Integer itemId : posting.getValue()) {
+                Document document = documents.get(itemId);
+                int score = 0;
+
+                if (document.nameTokens.contains(posting.getKey())) {
+                    score = exact ? NAME_EXACT_SCORE : NAME_PREFIX_SCORE;
+                } else if (document.descriptionTokens.contains(posting.getKey())) {
+                    score = exact ? DESCRIPTION_EXACT_SCORE : DESCRIPTION_PREFIX_SCORE;
+                }
+
+                termScores.merge(itemId, score, Math::max);
+            }
+        }
+
+        return termScores;
+    }
+
+    private void put(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return;
+        }
+
+        Document document = new Document(tokenize(item.getName()), tokenize(item.getDescription()));
+
+        documents.put(item.getId(), document);
+        document.tokens().forEach(token -> postings.computeIfAbsent(token, key -> new HashSet<>()).add(item.getId()));
+    }
+
+    private void delete(int itemId) {
+        Document document = documents.remove(itemId);
+
+        if (document == null) {
+            return;
+        }
+
+        for (String token : document.tokens()) {
+            Set<Integer> itemIds = postings.get(token);
+
+            itemIds.remove(itemId);
+
+            if (itemIds.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+    private static Set<String> tokenize(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @RequiredArgsConstructor
+    private static class Document {
+        private final Set<String> nameTokens;
+        private final Set<String> descriptionTokens;
+
+        private Set<String> tokens() {
+            Set<String> tokens = new HashSet<>(nameTokens);
+
+            tokens.addAll(descriptionTokens);
+
+            return tokens;
+        }
+    }
+}
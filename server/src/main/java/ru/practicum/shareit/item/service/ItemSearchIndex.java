@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearchIndex {
+    void index(Item item);
+
+    void remove(int itemId);
+
+    void rebuild(List<Item> items);
+
+    List<Integer> search(String text, int from, int size);
+}
@@ -2,21 +2,27 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
+import ru.practicum.shareit.item.model.RequestItemView;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     Item createNewItem(ItemCreationDto item, int userId);
 
     Item updateItem(Item item, int itemId, int userId);
 
-    Item getItemById(int itemId, int userId);
+    List<ItemCardView> getItemCard(int itemId, int userId);
 
     Item getItemByIdForBookingAndComment(int itemId);
 
+    Map<Integer, Item> getItemsByIdForBooking(Collection<Integer> itemIds);
+
     List<Item> getUsersItems(int userId);
 
-    List<Item> getItemsForSearch(int userId, String search);
+    List<Item> getItemsForSearch(int userId, String search, int from, int size);
 
-    List<Item> findByRequestIdIn(List<Integer> requestsId);
+    List<RequestItemView> findByRequestIdIn(List<Integer> requestsId);
 }
\ No newline at end of file
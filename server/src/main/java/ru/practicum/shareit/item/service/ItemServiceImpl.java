@@ -3,26 +3,38 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.model.ItemBooking;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.TimelineBooking;
 import ru.practicum.shareit.booking.service.ItemBookingService;
-import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.exception.PermissionException;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
+import ru.practicum.shareit.item.model.RequestItemView;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class ItemServiceImpl implements ItemService {
@@ -31,10 +43,12 @@ public class ItemServiceImpl implements ItemService {
     private final ItemBookingService bookingService;
     private final CommentService commentService;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
+    @Transactional
     public Item createNewItem(ItemCreationDto item, int userId) {
-        log.info("Полчуен запрос на создание вещи");
+        log.debug("Полчуен запрос на создание вещи");
 
         User user = userService.getUserById(userId);
 
@@ -43,22 +57,25 @@ public class ItemServiceImpl implements ItemService {
             Optional<ItemRequest> itemRequest = itemRequestRepository.findById(item.getRequestId());
 
             if (itemRequest.isPresent()) {
-                return itemRepository.save(ItemMapper.toItemWithRequest(item, user, itemRequest.get()));
+                return indexItem(itemRepository.save(ItemMapper.toItemWithRequest(item, user, itemRequest.get())));
             }
 
-            log.info("Запрос с id = {} не найден", item.getRequestId());
+            log.debug("Запрос с id = {} не найден", item.getRequestId());
 
             throw new NoSuchElementException("Запрос не найден");
         }
 
-        return itemRepository.save(ItemMapper.toItemWithoutRequest(item, user));
+        return indexItem(itemRepository.save(ItemMapper.toItemWithoutRequest(item, user)));
     }
 
     @Override
+    @Transactional
     public Item updateItem(Item item, int itemId, int userId) {
-        log.info("Полчуен запрос на обновление вещи с id = {} от пользователя с id = {}", itemId, userId);
+        log.debug("Полчуен запрос на обновление вещи с id = {} от пользователя с id = {}", itemId, userId);
 
-        Item curItem = getItemById(itemId, userId);
+        userService.checkUserExists(userId);
+
+        Item curItem = itemContainsCheck(itemId);
 
         if (curItem.getOwner().getId().equals(userId)) {
             if (item.getName() != null && !item.getName().equals(curItem.getName())) {
@@ -73,9 +90,9 @@ public class ItemServiceImpl implements ItemService {
                 curItem.setAvailable(item.getAvailable());
             }
 
-            itemRepository.save(curItem);
+            itemRepository.saveAndFlush(curItem);
 
-            return curItem;
+            return indexItem(curItem);
         }
 
         log.warn("Не владелец пытаестя изменить объект");
@@ -84,53 +101,102 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public Item getItemById(int itemId, int userId) {
-        log.info("Получен запрос на получение вещи с id = {}", itemId);
+    public List<ItemCardView> getItemCard(int itemId, int userId) {
+        log.debug("Получен запрос на получение вещи с id = {}", itemId);
 
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
-        Item item = itemContainsCheck(itemId);
+        List<ItemCardView> card = itemRepository.findItemCard(itemId, userId, LocalDateTime.now());
 
-        addItemBookingForItem(item, userId);
+        if (!card.isEmpty()) {
+            return card;
+        }
 
-        addCommentsToItem(item);
+        log.warn("Отсутствует вещь с id = {}", itemId);
 
-        return item;
+        throw new NoSuchElementException(String.format("Отсутствует вещь с id = %d", itemId));
     }
 
     @Override
     public Item getItemByIdForBookingAndComment(int itemId) {
-        log.info("Получен запрос на получение вещи с id = {}", itemId);
+        log.debug("Получен запрос на получение вещи с id = {}", itemId);
 
         return itemContainsCheck(itemId);
     }
 
+    @Override
+    public Map<Integer, Item> getItemsByIdForBooking(Collection<Integer> itemIds) {
+        log.debug("Получен запрос на получение {} вещей для бронирования", itemIds.size());
+
+        return itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
     @Override
     public List<Item> getUsersItems(int userId) {
-        log.info("Получен запрос на отправление всех вещей пользователю с id = {}", userId);
+        log.debug("Получен запрос на отправление всех вещей пользователю с id = {}", userId);
+
+        userService.checkUserExists(userId);
+
+        List<Item> items = itemRepository.findByOwnerIdOrderById(userId);
 
-        userService.getUserById(userId);
+        addItemBookingsAndCommentsForItems(items);
 
-        return itemRepository.findByOwnerIdOrderById(userId).stream().peek(item -> {
-                    addItemBookingForItem(item, userId);
-                    addCommentsToItem(item);
-                })
-                .collect(Collectors.toList());
+        return items;
     }
 
     @Override
-    public List<Item> getItemsForSearch(int userId, String search) {
-        log.info("Получен запрос на отправление всех доступных вещей по условию: - {} от пользователя с id = {}",
+    public List<Item> getItemsForSearch(int userId, String search, int from, int size) {
+        log.debug("Получен запрос на отправление всех доступных вещей по условию: - {} от пользователя с id = {}",
                 search, userId);
 
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
         if (search == null || search.isBlank()) {
             return List.of();
         }
 
-        return itemRepository.findByAvailableIsTrueAndNameContainingIgnoreCaseOrAvailableIsTrueAndDescriptionContainingIgnoreCase(
-                search, search);
+        List<Item> items = new ArrayList<>(size);
+        int offset = from;
+
+        while (items.size() < size) {
+            int limit = size - items.size();
+            List<Integer> itemIds = itemSearchIndex.search(search, offset, limit);
+
+            if (itemIds.isEmpty()) {
+                break;
+            }
+
+            Map<Integer, Item> itemsById = itemRepository.findAllById(itemIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+            itemIds.stream().map(itemsById::get).filter(Objects::nonNull).forEach(items::add);
+
+            if (itemIds.size() < limit) {
+                break;
+            }
+
+            offset += itemIds.size();
+        }
+
+        return items;
+    }
+
+    private Item indexItem(Item item) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            itemSearchIndex.index(item);
+
+            return item;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemSearchIndex.index(item);
+            }
+        });
+
+        return item;
     }
 
     private Item itemContainsCheck(int itemId) {
@@ -145,31 +211,39 @@ public class ItemServiceImpl implements ItemService {
         throw new NoSuchElementException(String.format("Отсутствует вещь с id = %d", itemId));
     }
 
-    private void addItemBookingForItem(Item item, int userId) {
-        ItemBooking closestBooking = bookingService.getTheClosestBookingForItem(userId, item.getId());
-        ItemBooking futureBooking = bookingService.getFutureBookingForItem(userId, item.getId());
-
-        if (closestBooking != null) {
-            item.setLastBooking(closestBooking);
+    private void addItemBookingsAndCommentsForItems(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
         }
 
-        if (futureBooking != null) {
-            item.setNextBooking(futureBooking);
-        }
-    }
+        Map<Integer, Item> itemsById = items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Integer> itemIds = List.copyOf(itemsById.keySet());
 
-    @Override
-    public List<Item> findByRequestIdIn(List<Integer> requestsId) {
-        log.info("Получен запос на отправку всех вещей, созданных по запросам");
+        LocalDateTime now = LocalDateTime.now();
 
-        return itemRepository.findByRequestIdIn(requestsId);
+        bookingService.getItemsTimelines(itemIds).forEach((itemId, timeline) -> {
+            Item item = itemsById.get(itemId);
+            TimelineBooking lastBooking = timeline.findLast(now);
+            TimelineBooking nextBooking = timeline.findNext(now);
+
+            if (lastBooking != null) {
+                item.setLastBooking(BookingMapper.toItemBooking(lastBooking));
+            }
+
+            if (nextBooking != null) {
+                item.setNextBooking(BookingMapper.toItemBooking(nextBooking));
+            }
+        });
+
+        commentService.getItemsComments(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()))
+                .forEach((itemId, comments) -> itemsById.get(itemId).setComments(comments));
     }
 
-    private void addCommentsToItem(Item item) {
-        List<Comment> comments = commentService.getItemComments(item.getId());
+    @Override
+    public List<RequestItemView> findByRequestIdIn(List<Integer> requestsId) {
+        log.debug("Получен запос на отправку всех вещей, созданных по запросам");
 
-        if (!comments.isEmpty()) {
-            item.setComments(comments);
-        }
+        return itemRepository.findByRequestIdIn(requestsId);
     }
 }
\ No newline at end of file
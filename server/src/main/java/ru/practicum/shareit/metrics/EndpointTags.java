@@ -0,0 +1,32 @@
+package ru.practicum.shareit.metrics;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+
+public class EndpointTags {
+    public static final String NONE = "none";
+
+    public static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes instanceof ServletRequestAttributes) {
+            return endpoint(((ServletRequestAttributes) attributes).getRequest());
+        }
+
+        return NONE;
+    }
+
+    public static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+
+        if (pattern == null) {
+            return NONE;
+        }
+
+        return request.getMethod() + " " + pattern;
+    }
+}
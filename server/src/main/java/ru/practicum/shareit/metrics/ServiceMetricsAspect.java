@@ -0,0 +1,77 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.comment.service.CommentService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.Set;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String SERVICE_CALLS = "shareit.service.calls";
+    public static final String SUCCESS = "success";
+
+    private static final Set<Class<?>> SERVICES = Set.of(BookingService.class, ItemService.class,
+            ItemRequestService.class, UserService.class, CommentService.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* ru.practicum.shareit.booking.service.BookingService.*(..)) " +
+            "|| execution(* ru.practicum.shareit.item.service.ItemService.*(..)) " +
+            "|| execution(* ru.practicum.shareit.request.service.ItemRequestService.*(..)) " +
+            "|| execution(* ru.practicum.shareit.user.service.UserService.*(..)) " +
+            "|| execution(* ru.practicum.shareit.comment.service.CommentService.*(..))")
+    public Object recordServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = SUCCESS;
+
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(SERVICE_CALLS)
+                    .tag("service", getService(joinPoint.getSignature().getDeclaringType()))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", getState(joinPoint.getArgs()))
+                    .tag("endpoint", EndpointTags.endpoint())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String getService(Class<?> type) {
+        for (Class<?> service : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+            if (SERVICES.contains(service)) {
+                return service.getSimpleName();
+            }
+        }
+
+        return type.getSimpleName();
+    }
+
+    private String getState(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingStatus) {
+                return ((BookingStatus) arg).name();
+            }
+        }
+
+        return EndpointTags.NONE;
+    }
+}
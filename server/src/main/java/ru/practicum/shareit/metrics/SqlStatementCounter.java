@@ -0,0 +1,24 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SqlStatementCounter implements StatementInspector {
+    private final ThreadLocal<int[]> statementCount = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        statementCount.get()[0]++;
+
+        return sql;
+    }
+
+    public int reset() {
+        int count = statementCount.get()[0];
+
+        statementCount.remove();
+
+        return count;
+    }
+}
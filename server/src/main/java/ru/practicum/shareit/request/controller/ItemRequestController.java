@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,12 +12,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestCreationDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -35,7 +39,7 @@ public class ItemRequestController {
         ResponseItemRequestCreationDto response = ItemRequestMapper.responseItemRequestCreationDto(itemRequestService
                 .addItemRequest(itemRequestCreationDto, userId));
 
-        log.info("Пользователь с id = {} успешно создал запрос с описанием: {}", response.getId(),
+        log.debug("Пользователь с id = {} успешно создал запрос с описанием: {}", response.getId(),
                 response.getDescription());
 
         return ResponseEntity.ok().body(response).getBody();
@@ -44,12 +48,23 @@ public class ItemRequestController {
     @GetMapping("/{itemRequestId}")
     public ItemRequestDto getItemRequestById(
             @RequestHeader("X-Sharer-User-Id") Integer userId,
-            @PathVariable(value = "itemRequestId") Integer id
+            @PathVariable(value = "itemRequestId") Integer id,
+            WebRequest request,
+            HttpServletResponse response
     ) {
-        ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequestService
-                .getItemRequestById(userId, id));
+        ItemRequestView itemRequest = itemRequestService.getItemRequestById(userId, id);
 
-        log.info("Успешно отправлен запрос с id = {} пользователю с id = {}", id, userId);
+        response.addHeader(HttpHeaders.VARY, "X-Sharer-User-Id");
+
+        if (request.checkNotModified(ItemRequestMapper.toEntityTag(itemRequest))) {
+            log.debug("Запрос с id = {} не изменился", id);
+
+            return null;
+        }
+
+        ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+
+        log.debug("Успешно отправлен запрос с id = {} пользователю с id = {}", id, userId);
 
         return ResponseEntity.ok().body(itemRequestDto).getBody();
 
@@ -60,7 +75,7 @@ public class ItemRequestController {
         List<ItemRequestDto> itemRequestDtos = itemRequestService.getUserItemRequests(userId).stream()
                 .map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
 
-        log.info("Успешно отправлены все запросы для вещей от пользователя с id = {}", userId);
+        log.debug("Успешно отправлены все запросы для вещей от пользователя с id = {}", userId);
 
         return ResponseEntity.ok().body(itemRequestDtos).getBody();
     }
@@ -74,7 +89,7 @@ public class ItemRequestController {
         List<ItemRequestDto> dtos = itemRequestService.getAllItemRequests(userId, from, size).stream()
                 .map(ItemRequestMapper::toItemRequestDto).collect(Collectors.toList());
 
-        log.info("Успешно отправлены {} запросов, начиная с {}, пользователю с id = {}", size, from, userId);
+        log.debug("Успешно отправлены {} запросов, начиная с {}, пользователю с id = {}", size, from, userId);
 
         return ResponseEntity.ok().body(dtos).getBody();
     }
@@ -5,6 +5,7 @@ import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestCreationDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
@@ -14,7 +15,7 @@ public class ItemRequestMapper {
     private ItemRequestMapper() {
     }
 
-    public static ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
+    public static ItemRequestDto toItemRequestDto(ItemRequestView itemRequest) {
         ItemRequestDto itemRequestDto = new ItemRequestDto();
 
         itemRequestDto.setId(itemRequest.getId());
@@ -28,6 +29,17 @@ public class ItemRequestMapper {
         return itemRequestDto;
     }
 
+    public static String toEntityTag(ItemRequestView itemRequest) {
+        StringBuilder tag = new StringBuilder()
+                .append(itemRequest.getId()).append(':').append(itemRequest.getCreated());
+
+        if (itemRequest.getItems() != null) {
+            itemRequest.getItems().forEach(item -> tag.append(":item=").append(ItemMapper.toEntityTag(item)));
+        }
+
+        return ItemMapper.toWeakEntityTag(tag);
+    }
+
     public static ResponseItemRequestCreationDto responseItemRequestCreationDto(ItemRequest itemRequest) {
         ResponseItemRequestCreationDto responseItemRequestCreationDto = new ResponseItemRequestCreationDto();
 
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Getter;
+import lombok.Setter;
+import ru.practicum.shareit.item.model.RequestItemView;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class ItemRequestView {
+    private final Integer id;
+    private final String description;
+    private final LocalDateTime created;
+    @Setter
+    private List<RequestItemView> items;
+
+    public ItemRequestView(Integer id, String description, LocalDateTime created) {
+        this.id = id;
+        this.description = description;
+        this.created = created;
+    }
+}
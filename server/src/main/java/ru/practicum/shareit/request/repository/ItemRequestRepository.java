@@ -1,14 +1,28 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
-    List<ItemRequest> findByRequestorIdOrderByCreatedDesc(int userId);
+    @Query("SELECT new ru.practicum.shareit.request.model.ItemRequestView(r.id, r.description, r.created) " +
+            "FROM ItemRequest r WHERE r.id = :id")
+    Optional<ItemRequestView> findViewById(@Param("id") int id);
 
-    Page<ItemRequest> findByRequestorIdNot(int userId, Pageable pageable);
-}
\ No newline at end of file
+    @Query("SELECT new ru.practicum.shareit.request.model.ItemRequestView(r.id, r.description, r.created) " +
+            "FROM ItemRequest r WHERE r.requestor.id = :userId ORDER BY r.created DESC")
+    List<ItemRequestView> findByRequestorIdOrderByCreatedDesc(@Param("userId") int userId);
+
+    @Query("SELECT new ru.practicum.shareit.request.model.ItemRequestView(r.id, r.description, r.created) " +
+            "FROM ItemRequest r WHERE r.requestor.id <> :userId ORDER BY r.created DESC")
+    List<ItemRequestView> findByRequestorIdNot(@Param("userId") int userId, Pageable pageable);
+
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.requestor.id = :userId")
+    List<Integer> findIdsByRequestorId(@Param("userId") int userId);
+}
@@ -3,23 +3,26 @@ package ru.practicum.shareit.request.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.item.model.Item;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.RequestItemView;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
@@ -28,8 +31,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemService itemService;
 
     @Override
+    @Transactional
     public ItemRequest addItemRequest(ItemRequestCreationDto itemRequestCreationDto, int userId) {
-        log.info("Получен запрос на создание запроса от польователя с id = {} с описанием: {}", userId,
+        log.debug("Получен запрос на создание запроса от польователя с id = {} с описанием: {}", userId,
                 itemRequestCreationDto.getDescription());
 
         User user = userService.getUserById(userId);
@@ -38,50 +42,56 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public ItemRequest getItemRequestById(int userId, int itemRequestId) {
-        log.info("Получен запрос на отправку запроса с id = {} от пользователя с id = {}", itemRequestId, userId);
+    public ItemRequestView getItemRequestById(int userId, int itemRequestId) {
+        log.debug("Получен запрос на отправку запроса с id = {} от пользователя с id = {}", itemRequestId, userId);
 
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
-        Optional<ItemRequest> itemRequest = itemRequestRepository.findById(itemRequestId);
+        Optional<ItemRequestView> itemRequest = itemRequestRepository.findViewById(itemRequestId);
 
         if (itemRequest.isPresent()) {
             return setItemsForItemRequest(List.of(itemRequest.get())).get(0);
         }
 
-        log.info("Запрос с id = {} не найден", userId);
+        log.debug("Запрос с id = {} не найден", userId);
 
         throw new NoSuchElementException("Запрос не найден");
     }
 
     @Override
-    public List<ItemRequest> getUserItemRequests(int userId) {
-        log.info("Получен запрос на отправку всех запросов пользователя с id = {}", userId);
+    public List<ItemRequestView> getUserItemRequests(int userId) {
+        log.debug("Получен запрос на отправку всех запросов пользователя с id = {}", userId);
 
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
-        List<ItemRequest> itemRequests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId);
+        List<ItemRequestView> itemRequests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(userId);
 
         return setItemsForItemRequest(itemRequests);
     }
 
     @Override
-    public List<ItemRequest> getAllItemRequests(int userId, int from, int size) {
-        log.info("Полуен запрос на отправку {} запросов, начиная с {} от пользовтаеля с id = {}", size, from, userId);
+    public List<ItemRequestView> getAllItemRequests(int userId, int from, int size) {
+        log.debug("Полуен запрос на отправку {} запросов, начиная с {} от пользовтаеля с id = {}", size, from, userId);
 
-        userService.getUserById(userId);
+        userService.checkUserExists(userId);
 
         return setItemsForItemRequest(itemRequestRepository.findByRequestorIdNot(userId, PageRequest
-                .of(from > 0 ? from / size : 0, size, Sort.by("created").descending())).toList());
+                .of(from > 0 ? from / size : 0, size)));
     }
 
-    private List<ItemRequest> setItemsForItemRequest(List<ItemRequest> itemRequests) {
-        List<Item> items = itemService.findByRequestIdIn(itemRequests.stream().map(ItemRequest::getId)
-                .collect(Collectors.toList()));
+    private List<ItemRequestView> setItemsForItemRequest(List<ItemRequestView> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return itemRequests;
+        }
+
+        Map<Integer, List<RequestItemView>> itemsByRequestId = itemService.findByRequestIdIn(itemRequests.stream()
+                        .map(ItemRequestView::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(RequestItemView::getRequestId));
+
+        itemRequests.forEach(itemRequest -> itemRequest.setItems(itemsByRequestId.getOrDefault(itemRequest.getId(),
+                List.of())));
 
-        return itemRequests.stream().peek(itemRequest -> {
-            itemRequest.setItems(items.stream().filter(item -> item.getRequest().getId().equals(itemRequest.getId()))
-                    .collect(Collectors.toList()));
-        }).collect(Collectors.toList());
+        return itemRequests;
     }
-}
\ No newline at end of file
+}
@@ -30,7 +30,7 @@ public class UserController {
     public List<UserDto> getUsers() {
         List<UserDto> userList = userService.getUsers().stream().map(UserMapper::toUSerDto).collect(Collectors.toList());
 
-        log.info("Все пользователи успешно отправлены клиенту");
+        log.debug("Все пользователи успешно отправлены клиенту");
 
         return ResponseEntity.ok().body(userList).getBody();
     }
@@ -39,7 +39,7 @@ public class UserController {
     public UserDto getUserDtoById(@PathVariable(value = "userId", required = false) Integer userId) {
         UserDto curUser = UserMapper.toUSerDto(userService.getUserById(userId));
 
-        log.info("Пользователь с id = {} успешно отправлен клиенту", userId);
+        log.debug("Пользователь с id = {} успешно отправлен клиенту", userId);
 
         return ResponseEntity.ok().body(curUser).getBody();
     }
@@ -48,7 +48,7 @@ public class UserController {
     public UserDto createNewUser(@RequestBody User user) {
         UserDto createUser = UserMapper.toUSerDto(userService.createNewUser(user));
 
-        log.info("Пользователь с id = {} успешно создан", createUser.getId());
+        log.debug("Пользователь с id = {} успешно создан", createUser.getId());
 
         return ResponseEntity.ok().body(createUser).getBody();
     }
@@ -57,7 +57,7 @@ public class UserController {
     public UserDto updateUser(@PathVariable(value = "userId") Integer userId, @RequestBody User user) {
         UserDto updatedUser = UserMapper.toUSerDto(userService.updateUser(user, userId));
 
-        log.info("Пользователь с id = {} успешно обновлен", userId);
+        log.debug("Пользователь с id = {} успешно обновлен", userId);
 
         return ResponseEntity.ok().body(updatedUser).getBody();
     }
@@ -68,7 +68,7 @@ public class UserController {
     ) {
         userService.deleteUserById(userId);
 
-        log.info("Пользователь с id = {} был успешно удален", userId);
+        log.debug("Пользователь с id = {} был успешно удален", userId);
 
         ResponseEntity.ok();
     }
@@ -13,5 +13,7 @@ public interface UserService {
 
     User getUserById(int id);
 
+    void checkUserExists(int userId);
+
     void deleteUserById(int userId);
 }
\ No newline at end of file
@@ -1,32 +1,67 @@
 package ru.practicum.shareit.user.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingTimeline;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
+    private static final long EXISTING_USERS_CACHE_SIZE = 10_000;
+    private static final Duration EXISTING_USERS_CACHE_TTL = Duration.ofMinutes(10);
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
     private final UserRepository userRepository;
     private final DuplicateFinder duplicateFinder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingTimeline bookingTimeline;
+    private final Cache<Integer, Boolean> existingUserIds = Caffeine.newBuilder()
+            .maximumSize(EXISTING_USERS_CACHE_SIZE)
+            .expireAfterWrite(EXISTING_USERS_CACHE_TTL)
+            .build();
 
     @Override
+    @Transactional
     public User createNewUser(User user) {
-        log.info("Получен запрос на создание пользователя");
+        log.debug("Получен запрос на создание пользователя");
 
         return userRepository.save(user);
     }
 
     @Override
+    @Transactional
     public User updateUser(User updatedUser, int userId) {
-        log.info("Получен запрос на обновление пользовтаеля с id = {}", userId);
+        log.debug("Получен запрос на обновление пользовтаеля с id = {}", userId);
 
         User curUser = getUserById(userId);
 
@@ -40,39 +75,96 @@ public class UserServiceImpl implements UserService {
             curUser.setEmail(updatedUser.getEmail());
         }
 
-        userRepository.save(curUser);
+        userRepository.saveAndFlush(curUser);
+
+        existingUserIds.invalidate(userId);
 
         return curUser;
     }
 
     @Override
     public User getUserById(int userId) {
-        log.info("Получен запрос на отправку пользователя с id = {}", userId);
+        log.debug("Получен запрос на отправку пользователя с id = {}", userId);
 
         Optional<User> user = userRepository.findById(userId);
 
         if (user.isPresent()) {
+            existingUserIds.put(userId, Boolean.TRUE);
+
             return user.get();
         }
 
-        log.info("Пользователь с id = {} не найден", userId);
+        log.debug("Пользователь с id = {} не найден", userId);
+
+        throw new NoSuchElementException("Пользователь не найден");
+    }
+
+    @Override
+    public void checkUserExists(int userId) {
+        if (existingUserIds.getIfPresent(userId) != null) {
+            return;
+        }
+
+        if (userRepository.existsById(userId)) {
+            existingUserIds.put(userId, Boolean.TRUE);
+
+            return;
+        }
+
+        log.debug("Пользователь с id = {} не найден", userId);
 
         throw new NoSuchElementException("Пользователь не найден");
     }
 
     @Override
     public List<User> getUsers() {
-        log.info("Получен запрос на отправку всех пользователей");
+        log.debug("Получен запрос на отправку всех пользователей");
 
         return userRepository.findAll();
     }
 
     @Override
+    @Transactional
     public void deleteUserById(int userId) {
-        log.info("Получен запрос на удаление пользователя с id = {}", userId);
+        log.debug("Получен запрос на удаление пользователя с id = {}", userId);
 
         getUserById(userId);
 
+        List<Integer> itemIds = itemRepository.findIdsByOwnerIdOrRequestorId(userId);
+        List<Integer> requestIds = itemRequestRepository.findIdsByRequestorId(userId);
+        List<Integer> bookedItemIds = bookingRepository.findItemIdsByBookerIdAndStatusInAndEndIsAfter(userId,
+                ACTIVE_STATUSES, LocalDateTime.now());
+        List<Integer> approvedItemIds = bookingRepository.findApprovedItemIdsByBookerId(userId);
+
         userRepository.deleteById(userId);
+
+        bookingIntervalIndex.evict(bookedItemIds);
+        bookingTimeline.evict(approvedItemIds);
+
+        evictCascadedEntities(userId, itemIds, requestIds);
+    }
+
+    private void evictCascadedEntities(int userId, List<Integer> itemIds, List<Integer> requestIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            existingUserIds.invalidate(userId);
+            evictItemsAndRequests(itemIds, requestIds);
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                existingUserIds.invalidate(userId);
+                evictItemsAndRequests(itemIds, requestIds);
+            }
+        });
+    }
+
+    private void evictItemsAndRequests(List<Integer> itemIds, List<Integer> requestIds) {
+        itemIds.forEach(itemId -> entityManagerFactory.getCache().evict(Item.class, itemId));
+        requestIds.forEach(requestId -> entityManagerFactory.getCache().evict(ItemRequest.class, requestId));
+        entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+        itemIds.forEach(itemSearchIndex::remove);
     }
 }
\ No newline at end of file
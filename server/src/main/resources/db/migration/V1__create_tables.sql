@@ -1,14 +1,3 @@
-DROP TABLE IF EXISTS
-    users CASCADE;
-DROP TABLE IF EXISTS
-    items_requests CASCADE;
-DROP TABLE IF EXISTS
-    items CASCADE;
-DROP TABLE IF EXISTS
-    bookings CASCADE;
-DROP TABLE IF EXISTS
-    comments CASCADE;
-
 CREATE TABLE IF NOT EXISTS users
 (
     id    INTEGER GENERATED AlWAYS AS IDENTITY PRIMARY KEY NOT NULL,
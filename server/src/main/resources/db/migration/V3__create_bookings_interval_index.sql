@@ -0,0 +1,3 @@
+DROP INDEX IF EXISTS bookings_item_id_start_date_idx;
+
+CREATE INDEX IF NOT EXISTS bookings_item_id_start_date_end_date_idx ON bookings (item_id, start_date, end_date);
@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -17,6 +18,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ResponseItemRequestCreationDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.request.service.ItemRequestService;
 import ru.practicum.shareit.user.model.User;
 
@@ -31,6 +33,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -49,6 +52,7 @@ public class ItemRequestControllerTest {
     private User user;
     private ItemRequestDto itemRequestDto;
     private ItemRequest itemRequest;
+    private ItemRequestView itemRequestView;
     private final String headerUserId = "X-Sharer-User-Id";
 
     @BeforeEach
@@ -66,7 +70,10 @@ public class ItemRequestControllerTest {
                 .created(LocalDateTime.now())
                 .build();
 
-        itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+        itemRequestView = new ItemRequestView(itemRequest.getId(), itemRequest.getDescription(),
+                itemRequest.getCreated());
+
+        itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequestView);
     }
 
     @Test
@@ -126,7 +133,7 @@ public class ItemRequestControllerTest {
 
     @Test
     public void shouldGetUserItemRequests() throws Exception {
-        when(itemRequestService.getUserItemRequests(anyInt())).thenReturn(List.of(itemRequest));
+        when(itemRequestService.getUserItemRequests(anyInt())).thenReturn(List.of(itemRequestView));
 
         ResultActions resultActions = mockMvc.perform(get("/requests")
                 .header(headerUserId, user.getId())
@@ -154,7 +161,7 @@ public class ItemRequestControllerTest {
 
     @Test
     public void shouldGetItemRequestById() throws Exception {
-        when(itemRequestService.getItemRequestById(anyInt(), anyInt())).thenReturn(itemRequest);
+        when(itemRequestService.getItemRequestById(anyInt(), anyInt())).thenReturn(itemRequestView);
 
         ResultActions resultActions = mockMvc.perform(get("/requests/{itemRequestId}", itemRequest.getId())
                 .header(headerUserId, user.getId())
@@ -166,6 +173,25 @@ public class ItemRequestControllerTest {
         checkItemRequestOk(resultActions);
     }
 
+    @Test
+    public void shouldReturnNotModifiedIfItemRequestEntityTagMatches() throws Exception {
+        when(itemRequestService.getItemRequestById(anyInt(), anyInt())).thenReturn(itemRequestView);
+
+        String entityTag = mockMvc.perform(get("/requests/{itemRequestId}", itemRequest.getId())
+                        .header(headerUserId, user.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/requests/{itemRequestId}", itemRequest.getId())
+                        .header(headerUserId, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, headerUserId))
+                .andExpect(content().string(""));
+    }
+
     @Test
     public void shouldThrownExceptionIfUserDoesntExistsWhenGetItemRequestById() throws Exception {
         when(itemRequestService.getItemRequestById(anyInt(), anyInt())).thenThrow(NoSuchElementException.class);
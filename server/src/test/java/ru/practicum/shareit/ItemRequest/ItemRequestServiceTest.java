@@ -6,10 +6,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import ru.practicum.shareit.item.model.RequestItemView;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestCreationDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.model.ItemRequestView;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.user.model.User;
@@ -22,7 +23,13 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -38,6 +45,7 @@ public class ItemRequestServiceTest {
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
     private ItemRequest itemRequest;
+    private ItemRequestView itemRequestView;
 
     @BeforeEach
     public void createItemRequest() {
@@ -53,6 +61,9 @@ public class ItemRequestServiceTest {
                 .requestor(user)
                 .created(LocalDateTime.now())
                 .build();
+
+        itemRequestView = new ItemRequestView(itemRequest.getId(), itemRequest.getDescription(),
+                itemRequest.getCreated());
     }
 
     @Test
@@ -81,58 +92,92 @@ public class ItemRequestServiceTest {
 
     @Test
     public void shouldGetUserItemRequests() {
-        when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(anyInt())).thenReturn(List.of(itemRequest));
+        when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(anyInt())).thenReturn(List.of(itemRequestView));
 
-        List<ItemRequest> itemRequests = itemRequestService.getUserItemRequests(anyInt());
+        List<ItemRequestView> itemRequests = itemRequestService.getUserItemRequests(anyInt());
 
-        assertThat(itemRequest, is(itemRequests.get(0)));
+        assertThat(itemRequestView, is(itemRequests.get(0)));
 
     }
 
     @Test
     public void shouldThrownExceptionIfUserDoesNotExistsWhenGetUserItemRequests() {
-        when(userService.getUserById((anyInt()))).thenThrow(NoSuchElementException.class);
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
         assertThrows(NoSuchElementException.class, () -> itemRequestService.getUserItemRequests(anyInt()));
     }
 
     @Test
     public void shouldGetItemRequestById() {
-        when(itemRequestRepository.findById(anyInt())).thenReturn(Optional.of(itemRequest));
+        when(itemRequestRepository.findViewById(anyInt())).thenReturn(Optional.of(itemRequestView));
 
-        ItemRequest getItemRequest = itemRequestService.getItemRequestById(1, anyInt());
+        ItemRequestView getItemRequest = itemRequestService.getItemRequestById(1, anyInt());
 
-        assertThat(itemRequest, is(getItemRequest));
+        assertThat(itemRequestView, is(getItemRequest));
     }
 
     @Test
     public void shouldThrowExceptionIfItemDoesNotExistsWhenGetItemRequestById() {
-        when(itemRequestRepository.findById((anyInt()))).thenReturn(Optional.empty());
+        when(itemRequestRepository.findViewById((anyInt()))).thenReturn(Optional.empty());
 
         assertThrows(NoSuchElementException.class, () -> itemRequestService.getItemRequestById(1, anyInt()));
     }
 
     @Test
     public void shouldThrowExceptionIfUserDoesNotExistsWhenGetItemRequestById() {
-        when(userService.getUserById((anyInt()))).thenThrow(NoSuchElementException.class);
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
         assertThrows(NoSuchElementException.class, () -> itemRequestService.getItemRequestById(1, anyInt()));
     }
 
     @Test
     public void shouldFindAllItemRequests() {
-        when(itemRequestRepository.findByRequestorIdNot(anyInt(), any())).thenReturn(new PageImpl<>(List.of(itemRequest)));
+        when(itemRequestRepository.findByRequestorIdNot(anyInt(), any())).thenReturn(List.of(itemRequestView));
 
 
-        List<ItemRequest> itemRequests = itemRequestService.getAllItemRequests(1, anyInt(), 1);
+        List<ItemRequestView> itemRequests = itemRequestService.getAllItemRequests(1, anyInt(), 1);
 
-        assertThat(itemRequest, is(itemRequests.get(0)));
+        assertThat(itemRequestView, is(itemRequests.get(0)));
     }
 
     @Test
     public void shouldThrowExceptionIfUserDoesNotExistsWhenGetAllItemRequests() {
-        when(userService.getUserById((anyInt()))).thenThrow(NoSuchElementException.class);
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
         assertThrows(NoSuchElementException.class, () -> itemRequestService.getUserItemRequests(anyInt()));
     }
+
+    @Test
+    public void shouldGroupItemsByRequestId() {
+        ItemRequestView otherItemRequest = new ItemRequestView(2, "Other Description", LocalDateTime.now());
+        ItemRequestView unansweredItemRequest = new ItemRequestView(3, "Unanswered Description", LocalDateTime.now());
+        RequestItemView firstItem = createRequestItem(1, 1);
+        RequestItemView secondItem = createRequestItem(2, 1);
+        RequestItemView otherItem = createRequestItem(3, 2);
+
+        when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(anyInt()))
+                .thenReturn(List.of(itemRequestView, otherItemRequest, unansweredItemRequest));
+        when(itemService.findByRequestIdIn(List.of(1, 2, 3))).thenReturn(List.of(firstItem, otherItem, secondItem));
+
+        List<ItemRequestView> itemRequests = itemRequestService.getUserItemRequests(1);
+
+        assertThat(itemRequests.get(0).getItems(), contains(firstItem, secondItem));
+        assertThat(itemRequests.get(1).getItems(), contains(otherItem));
+        assertThat(itemRequests.get(2).getItems(), is(empty()));
+    }
+
+    @Test
+    public void shouldNotFindItemsIfThereAreNoItemRequests() {
+        when(itemRequestRepository.findByRequestorIdOrderByCreatedDesc(anyInt())).thenReturn(List.of());
+
+        List<ItemRequestView> itemRequests = itemRequestService.getUserItemRequests(1);
+
+        assertThat(itemRequests, is(empty()));
+        verify(itemService, never()).findByRequestIdIn(anyList());
+    }
+
+    private RequestItemView createRequestItem(int id, int requestId) {
+        return new RequestItemView(id, "Item " + id, "Description " + id, true, 2, "Maxim", "iliasacool@gmail.com", 0,
+                requestId, 0);
+    }
 }
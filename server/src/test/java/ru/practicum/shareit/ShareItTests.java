@@ -1,8 +1,13 @@
 package ru.practicum.shareit;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
 import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class ShareItTests {
 
@@ -10,4 +15,13 @@ class ShareItTests {
 	void contextLoads() {
 	}
 
+	@Test
+	void shouldLogThroughSharedAsyncAppender() {
+		LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+		Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+
+		assertThat(root.getAppender("ASYNC_CONSOLE")).isNotNull();
+		assertThat(root.getAppender("CONSOLE")).isNull();
+	}
+
 }
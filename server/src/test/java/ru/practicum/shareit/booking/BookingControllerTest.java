@@ -10,15 +10,22 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingDecisionResult;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -27,12 +34,18 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -46,6 +59,7 @@ public class BookingControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
     private Booking booking;
+    private BookingView bookingView;
     private Item item;
     private BookingDto bookingDto;
     private final String headerUserId = "X-Sharer-User-Id";
@@ -64,6 +78,7 @@ public class BookingControllerTest {
                 .description("Красивая дрель")
                 .available(true)
                 .owner(owner)
+                .comments(List.of())
                 .build();
 
         User user = User.builder()
@@ -80,6 +95,10 @@ public class BookingControllerTest {
                 .booker(user)
                 .build();
 
+        bookingView = new BookingView(1, booking.getStart(), booking.getEnd(), booking.getStatus(), 1, "Дрель",
+                "Красивая дрель", true, null, 1, "Ilya", "belyachok567811@gmail.com", 2, "Maxim",
+                "iliasacool@gmail.com");
+
         bookingDto = BookingMapper.toBookingDto(booking);
     }
 
@@ -103,6 +122,30 @@ public class BookingControllerTest {
         bookingStatusIsOkCheck(resultActions);
     }
 
+    @Test
+    public void shouldCreateBookingsBatch() throws Exception {
+        BookingCreationDto creationDto = BookingCreationDto.builder()
+                .itemId(1)
+                .start(LocalDateTime.now().plusSeconds(1))
+                .end(LocalDateTime.now().plusSeconds(2))
+                .build();
+
+        when(bookingService.addBookings(any(), anyInt())).thenReturn(List.of(BookingBatchResult.created(booking),
+                BookingBatchResult.failed("Вещь уже забронирована на это время")));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(headerUserId, 2)
+                        .content(objectMapper.writeValueAsString(List.of(creationDto, creationDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(
+                        BookingMapper.toBookingBatchResultDto(BookingBatchResult.created(booking)),
+                        BookingMapper.toBookingBatchResultDto(
+                                BookingBatchResult.failed("Вещь уже забронирована на это время"))))));
+    }
+
     @Test
     public void shouldThrownExceptionIfRequestHeaderDoesntExistsWhenCreateBooking() throws Exception {
         BookingCreationDto creationDto = BookingCreationDto.builder()
@@ -176,6 +219,39 @@ public class BookingControllerTest {
         bookingStatusIsOkCheck(resultActions);
     }
 
+    @Test
+    public void shouldReturnConflictIfBookingWasChangedConcurrently() throws Exception {
+        when(bookingService.approveOrRejectBooking(anyInt(), anyInt(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId()));
+
+        mockMvc.perform(patch("/bookings/{bookingId}", booking.getId())
+                        .header(headerUserId, item.getOwner().getId())
+                        .param("approved", "true")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict())
+                .andExpect(content().json("{\"error\":\"Данные были изменены параллельно, повторите запрос\"}"));
+    }
+
+    @Test
+    public void shouldApproveOrRejectBookingsBatch() throws Exception {
+        List<BookingDecisionResult> results = List.of(BookingDecisionResult.applied(1, BookingStatus.APPROVED),
+                BookingDecisionResult.failed(2, "Отсутвует бронирование с id = 2"));
+
+        when(bookingService.approveOrRejectBookings(anyInt(), any())).thenReturn(results);
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header(headerUserId, 1)
+                        .content(objectMapper.writeValueAsString(List.of(new BookingDecisionDto(1, true),
+                                new BookingDecisionDto(2, false))))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(results.stream()
+                        .map(BookingMapper::toBookingDecisionResultDto).collect(Collectors.toList()))));
+    }
+
     @Test
     public void shouldGetBookingById() throws Exception {
         when(bookingService.getBookingById(anyInt(), anyInt())).thenReturn(booking);
@@ -191,7 +267,7 @@ public class BookingControllerTest {
 
     @Test
     public void shouldGetOwnerBookings() throws Exception {
-        when(bookingService.getOwnerBookings(anyInt(), any(), anyInt(), anyInt())).thenReturn(List.of(booking));
+        when(bookingService.getOwnerBookings(anyInt(), any(), anyInt(), anyInt())).thenReturn(List.of(bookingView));
 
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("state", "ALL");
@@ -208,6 +284,108 @@ public class BookingControllerTest {
         listOfBookingStatusIsOkCheck(resultActions);
     }
 
+    @Test
+    public void shouldExportOwnerBookingsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<BookingView> consumer = invocation.getArgument(1);
+
+            consumer.accept(bookingView);
+            consumer.accept(bookingView);
+
+            return null;
+        }).when(bookingService).exportOwnerBookings(eq(1), any());
+
+        String line = objectMapper.writeValueAsString(BookingMapper.toBookingDto(bookingView));
+
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(headerUserId, item.getOwner().getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(line + "\n" + line + "\n"));
+    }
+
+    @Test
+    public void shouldExportEmptyNdjsonIfOwnerHasNoBookings() throws Exception {
+        mockMvc.perform(get("/bookings/owner/export")
+                        .header(headerUserId, item.getOwner().getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void shouldNotExportBookingsIfOwnerDoesntExist() throws Exception {
+        doThrow(NoSuchElementException.class).when(bookingService).exportOwnerBookings(eq(1), any());
+
+        ResultActions resultActions = mockMvc.perform(get("/bookings/owner/export")
+                .header(headerUserId, item.getOwner().getId())
+                .accept(MediaType.APPLICATION_JSON));
+
+        bookingStatusIsNotFoundCheck(resultActions);
+    }
+
+    @Test
+    public void shouldGetUserBookingsAfterCursorWithNextCursor() throws Exception {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2024, 1, 1, 12, 0), 5);
+
+        when(bookingService.getUserBookingsAfter(anyInt(), any(), eq(cursor), eq(1)))
+                .thenReturn(List.of(bookingView));
+
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("state", "ALL");
+        params.add("from", "0");
+        params.add("size", "1");
+        params.add("cursor", cursor.encode());
+
+        ResultActions resultActions = mockMvc.perform(get("/bookings")
+                .header(headerUserId, booking.getBooker().getId())
+                .params(params)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        listOfBookingStatusIsOkCheck(resultActions);
+
+        resultActions.andExpect(header().string("X-Next-Cursor", BookingCursor.of(bookingView).encode()));
+    }
+
+    @Test
+    public void shouldNotReturnNextCursorOnLastPage() throws Exception {
+        when(bookingService.getOwnerBookings(anyInt(), any(), anyInt(), anyInt())).thenReturn(List.of(bookingView));
+
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("state", "ALL");
+        params.add("from", "0");
+        params.add("size", "10");
+
+        ResultActions resultActions = mockMvc.perform(get("/bookings/owner")
+                .header(headerUserId, item.getOwner().getId())
+                .params(params)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        resultActions.andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    public void shouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        params.add("state", "ALL");
+        params.add("from", "0");
+        params.add("size", "10");
+        params.add("cursor", "not a cursor");
+
+        ResultActions resultActions = mockMvc.perform(get("/bookings")
+                .header(headerUserId, booking.getBooker().getId())
+                .params(params)
+                .characterEncoding(StandardCharsets.UTF_8)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON));
+
+        bookingStatusIsBedRequestCheck(resultActions);
+    }
+
     private void bookingStatusIsOkCheck(ResultActions resultActions) throws Exception {
         resultActions
                 .andExpect(status().isOk())
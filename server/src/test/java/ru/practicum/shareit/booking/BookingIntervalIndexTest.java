@@ -0,0 +1,259 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.model.BookingIntervalView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.InMemoryBookingIntervalIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    private InMemoryBookingIntervalIndex bookingIntervalIndex;
+    private LocalDateTime start;
+
+    @BeforeEach
+    public void createIndex() {
+        bookingIntervalIndex = new InMemoryBookingIntervalIndex(bookingRepository);
+
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @AfterEach
+    public void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void shouldReserveAdjacentIntervals() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of());
+
+        bookingIntervalIndex.reserve(1, start, start.plusHours(2));
+
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(2), start.plusHours(3)));
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.minusHours(1), start));
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(2, start, start.plusHours(2)));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenIntervalsOverlap() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of());
+
+        bookingIntervalIndex.reserve(1, start, start.plusHours(2));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.minusHours(1), start.plusHours(1)));
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.minusHours(1), start.plusHours(3)));
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusMinutes(30), start.plusHours(1)));
+    }
+
+    @Test
+    public void shouldReserveIntervalAgainAfterRelease() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of());
+
+        bookingIntervalIndex.reserve(1, start, start.plusHours(2));
+        bookingIntervalIndex.release(1, start, start.plusHours(2));
+
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+    }
+
+    @Test
+    public void shouldLoadItemIntervalsFromRepositoryOnce() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of(
+                        createInterval(start, start.plusHours(2)),
+                        createInterval(start.plusHours(2), start.plusHours(4))
+                ));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(3), start.plusHours(5)));
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(4), start.plusHours(5)));
+
+        verify(bookingRepository, times(1)).findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(),
+                any());
+    }
+
+    @Test
+    public void shouldReleaseEachLoadedBookingSeparately() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of(
+                        createInterval(start, start.plusHours(2)),
+                        createInterval(start.plusHours(2), start.plusHours(4))
+                ));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(2)));
+
+        bookingIntervalIndex.release(1, start, start.plusHours(2));
+
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(2)));
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(3), start.plusHours(5)));
+    }
+
+    @Test
+    public void shouldRejectIntervalCoveredByOverlappingLegacyBookings() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of(
+                        createInterval(start, start.plusHours(10)),
+                        createInterval(start, start.plusHours(1)),
+                        createInterval(start.plusHours(2), start.plusHours(3))
+                ));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(5), start.plusHours(6)));
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(9), start.plusHours(11)));
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(10), start.plusHours(11)));
+    }
+
+    @Test
+    public void shouldReloadOverlappingLegacyBookingsAfterRelease() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of(
+                        createInterval(start, start.plusHours(10)),
+                        createInterval(start.plusHours(2), start.plusHours(3))
+                ))
+                .thenReturn(List.of(createInterval(start.plusHours(2), start.plusHours(3))));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(5), start.plusHours(6)));
+
+        bookingIntervalIndex.release(1, start, start.plusHours(10));
+
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(5), start.plusHours(6)));
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(2), start.plusHours(4)));
+    }
+
+    @Test
+    public void shouldReloadEvictedItemsOnlyAfterCommit() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of(createInterval(start, start.plusHours(2))))
+                .thenReturn(List.of());
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        bookingIntervalIndex.evict(List.of(1));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+    }
+
+    @Test
+    public void shouldRemoveReservationIfTransactionRolledBack() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        bookingIntervalIndex.reserve(1, start, start.plusHours(2));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+    }
+
+    @Test
+    public void shouldKeepReservationIfTransactionCommitted() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of());
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        bookingIntervalIndex.reserve(1, start, start.plusHours(2));
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+    }
+
+    @Test
+    public void shouldReleaseIntervalOnlyAfterCommit() {
+        when(bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(anyInt(), anyList(), any()))
+                .thenReturn(List.of(createInterval(start, start.plusHours(2))));
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        bookingIntervalIndex.release(1, start, start.plusHours(2));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        TransactionSynchronizationManager.initSynchronization();
+
+        bookingIntervalIndex.release(1, start, start.plusHours(2));
+
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertDoesNotThrow(() -> bookingIntervalIndex.reserve(1, start.plusHours(1), start.plusHours(3)));
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        TransactionSynchronizationManager.clearSynchronization();
+
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            TransactionSynchronizationUtils.invokeAfterCommit(synchronizations);
+        }
+
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private BookingIntervalView createInterval(LocalDateTime start, LocalDateTime end) {
+        return new BookingIntervalView() {
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
@@ -6,29 +6,51 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import ru.practicum.shareit.booking.dto.BookingCreationDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingBatchResult;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingDecisionResult;
+import ru.practicum.shareit.booking.model.BookingDecisionView;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingTimeline;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceTest {
@@ -38,9 +60,14 @@ public class BookingServiceTest {
     private UserService userService;
     @Mock
     private ItemService itemService;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private BookingTimeline bookingTimeline;
     @InjectMocks
     private BookingServiceImpl bookingService;
     private Booking booking;
+    private BookingView bookingView;
     private Item item;
 
     @BeforeEach
@@ -72,6 +99,10 @@ public class BookingServiceTest {
                 .item(item)
                 .booker(user)
                 .build();
+
+        bookingView = new BookingView(1, booking.getStart(), booking.getEnd(), BookingStatus.WAITING, 1, "Дрель",
+                "Красивая дрель", true, null, 1, "Ilya", "belyachok567811@gmail.com", 2, "Maxim",
+                "iliasacool@gmail.com");
     }
 
     @Test
@@ -84,13 +115,118 @@ public class BookingServiceTest {
 
         when(itemService.getItemByIdForBookingAndComment(anyInt())).thenReturn(item);
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Booking getBooking = bookingService.addBooking(creationDto, anyInt());
 
         assertThat(booking, is(getBooking));
     }
 
+    @Test
+    public void shouldThrownBookingOverlapExceptionWhenAddBooking() {
+        BookingCreationDto creationDto = BookingCreationDto.builder()
+                .itemId(1)
+                .start(LocalDateTime.now().plusSeconds(1))
+                .end(LocalDateTime.now().plusSeconds(2))
+                .build();
+
+        when(itemService.getItemByIdForBookingAndComment(anyInt())).thenReturn(item);
+
+        doThrow(BookingOverlapException.class).when(bookingIntervalIndex).reserve(1, creationDto.getStart(),
+                creationDto.getEnd());
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.addBooking(creationDto, 2));
+
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    public void shouldThrownBookingOverlapExceptionIfDatabaseRejectsBooking() {
+        BookingCreationDto creationDto = BookingCreationDto.builder()
+                .itemId(1)
+                .start(LocalDateTime.now().plusSeconds(1))
+                .end(LocalDateTime.now().plusSeconds(2))
+                .build();
+
+        when(itemService.getItemByIdForBookingAndComment(anyInt())).thenReturn(item);
+
+        when(bookingRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("overlap",
+                new SQLException("overlap", "23P01")));
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.addBooking(creationDto, 2));
+
+        verify(bookingIntervalIndex, never()).release(anyInt(), any(), any());
+    }
+
+    @Test
+    public void shouldReportEachBookingResultWhenAddBookings() {
+        Item ownItem = Item.builder()
+                .id(2)
+                .name("Молоток")
+                .description("Тяжелый молоток")
+                .available(true)
+                .owner(booking.getBooker())
+                .build();
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingCreationDto> creationDtos = List.of(
+                BookingCreationDto.builder().itemId(1).start(start).end(start.plusHours(1)).build(),
+                BookingCreationDto.builder().itemId(2).start(start).end(start.plusHours(1)).build(),
+                BookingCreationDto.builder().itemId(3).start(start).end(start.plusHours(1)).build());
+
+        when(userService.getUserById(2)).thenReturn(booking.getBooker());
+
+        when(itemService.getItemsByIdForBooking(Set.of(1, 2, 3))).thenReturn(Map.of(1, item, 2, ownItem));
+
+        List<BookingBatchResult> results = bookingService.addBookings(creationDtos, 2);
+
+        assertThat(results.size(), is(3));
+        assertThat(results.get(0).getBooking().getItem(), is(item));
+        assertThat(results.get(0).getError(), is(nullValue()));
+        assertThat(results.get(1).getBooking(), is(nullValue()));
+        assertThat(results.get(1).getError(), is("Создатель не может бронированить свою вещь"));
+        assertThat(results.get(2).getBooking(), is(nullValue()));
+        assertThat(results.get(2).getError(), is("Отсутствует вещь с id = 3"));
+
+        verify(userService, times(1)).getUserById(2);
+        verify(bookingRepository).saveAll(List.of(results.get(0).getBooking()));
+        verify(bookingIntervalIndex, times(1)).reserve(anyInt(), any(), any());
+    }
+
+    @Test
+    public void shouldThrownBookingOverlapExceptionIfDatabaseRejectsBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingCreationDto> creationDtos = List.of(
+                BookingCreationDto.builder().itemId(1).start(start).end(start.plusHours(1)).build(),
+                BookingCreationDto.builder().itemId(1).start(start.plusHours(1)).end(start.plusHours(2)).build());
+
+        when(itemService.getItemsByIdForBooking(Set.of(1))).thenReturn(Map.of(1, item));
+
+        doThrow(new DataIntegrityViolationException("overlap", new SQLException("overlap", "23P01")))
+                .when(bookingRepository).flush();
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.addBookings(creationDtos, 2));
+
+        verify(bookingIntervalIndex, never()).release(anyInt(), any(), any());
+    }
+
+    @Test
+    public void shouldRethrowOtherIntegrityViolationsWhenAddBookings() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingCreationDto> creationDtos = List.of(
+                BookingCreationDto.builder().itemId(1).start(start).end(start.plusHours(1)).build());
+
+        when(itemService.getItemsByIdForBooking(Set.of(1))).thenReturn(Map.of(1, item));
+
+        doThrow(new DataIntegrityViolationException("fk", new SQLException("fk", "23503")))
+                .when(bookingRepository).flush();
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.addBookings(creationDtos, 2));
+    }
+
     @Test
     public void shouldThrownItemUnavailableExceptionWhenAddBooking() {
         BookingCreationDto creationDto = BookingCreationDto.builder()
@@ -145,17 +281,70 @@ public class BookingServiceTest {
         assertThrows(NoSuchElementException.class, () -> bookingService.addBooking(creationDto, anyInt()));
     }
 
+    @Test
+    public void shouldApplyDecisionsAndReportFailures() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        when(bookingRepository.findDecisionViews(Set.of(1, 2, 3, 4, 5))).thenReturn(List.of(
+                new BookingDecisionView(1, 1, 1, BookingStatus.WAITING, start, start.plusHours(1)),
+                new BookingDecisionView(2, 2, 1, BookingStatus.WAITING, start, start.plusHours(1)),
+                new BookingDecisionView(3, 1, 1, BookingStatus.APPROVED, start, start.plusHours(1)),
+                new BookingDecisionView(4, 3, 5, BookingStatus.WAITING, start, start.plusHours(1))));
+
+        when(bookingRepository.updateWaitingStatuses(List.of(1), List.of(2), BookingStatus.APPROVED,
+                BookingStatus.REJECTED)).thenReturn(2);
+
+        List<BookingDecisionResult> results = bookingService.approveOrRejectBookings(1, List.of(
+                new BookingDecisionDto(1, true),
+                new BookingDecisionDto(2, false),
+                new BookingDecisionDto(3, false),
+                new BookingDecisionDto(4, true),
+                new BookingDecisionDto(5, true),
+                new BookingDecisionDto(1, false)));
+
+        assertThat(results.stream().map(BookingDecisionResult::getStatus).collect(Collectors.toList()),
+                is(Arrays.asList(BookingStatus.APPROVED, BookingStatus.REJECTED, null, null, null, null)));
+        assertThat(results.get(2).getError(),
+                is("Нельзя повтоно изменить статус после подтверждения или отмены бронирования"));
+        assertThat(results.get(3).getError(), is("Только создатель может подтверждать бронирование"));
+        assertThat(results.get(4).getError(), is("Отсутвует бронирование с id = 5"));
+        assertThat(results.get(5).getError(),
+                is("Нельзя повтоно изменить статус после подтверждения или отмены бронирования"));
+
+        verify(bookingIntervalIndex).release(2, start, start.plusHours(1));
+        verify(bookingTimeline).evict(Set.of(1));
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    public void shouldThrowChangeStatusExceptionIfBookingsWereChangedConcurrently() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        when(bookingRepository.findDecisionViews(Set.of(1))).thenReturn(List.of(
+                new BookingDecisionView(1, 1, 1, BookingStatus.WAITING, start, start.plusHours(1))));
+
+        when(bookingRepository.updateWaitingStatus(List.of(1), BookingStatus.REJECTED)).thenReturn(0);
+
+        assertThrows(ChangeStatusException.class,
+                () -> bookingService.approveOrRejectBookings(1, List.of(new BookingDecisionDto(1, false))));
+
+        verify(bookingIntervalIndex, never()).release(anyInt(), any(), any());
+    }
+
     @Test
     public void shouldApproveBooking() {
         booking.setStatus(BookingStatus.WAITING);
 
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Booking getBooking = bookingService.approveOrRejectBooking(1, anyInt(), true);
 
         assertThat(booking, is(getBooking));
+
+        verify(bookingIntervalIndex, never()).release(anyInt(), any(), any());
+        verify(bookingTimeline).evict(List.of(1));
     }
 
     @Test
@@ -164,11 +353,29 @@ public class BookingServiceTest {
 
         when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
 
-        when(bookingRepository.save(any())).thenReturn(booking);
+        when(bookingRepository.saveAndFlush(any())).thenReturn(booking);
 
         Booking getBooking = bookingService.approveOrRejectBooking(1, anyInt(), false);
 
         assertThat(booking, is(getBooking));
+
+        verify(bookingIntervalIndex).release(1, booking.getStart(), booking.getEnd());
+        verify(bookingTimeline, never()).evict(any());
+    }
+
+    @Test
+    public void shouldNotReleaseIntervalIfBookingWasChangedConcurrently() {
+        booking.setStatus(BookingStatus.WAITING);
+
+        when(bookingRepository.findById(anyInt())).thenReturn(Optional.of(booking));
+
+        when(bookingRepository.saveAndFlush(any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, booking.getId()));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> bookingService.approveOrRejectBooking(1, booking.getId(), true));
+
+        verify(bookingIntervalIndex, never()).release(anyInt(), any(), any());
     }
 
     @Test
@@ -221,127 +428,84 @@ public class BookingServiceTest {
     }
 
     @Test
-    public void shouldGetUserBookingsWithAllState() {
-        when(bookingRepository.findByBookerIdOrderByStartDesc(anyInt(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+    public void shouldGetUserBookingsPageByOffset() {
+        when(bookingRepository.findBookerBookings(eq(1), eq(BookingStatus.FUTURE), any(), eq(20), eq(10)))
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> bookings = bookingService.getUserBookings(1, BookingStatus.ALL, anyInt(),
-                1);
+        List<BookingView> bookings = bookingService.getUserBookings(1, BookingStatus.FUTURE, 25, 10);
 
-        assertThat(booking, is(bookings.get(0)));
+        assertThat(bookingView, is(bookings.get(0)));
     }
 
     @Test
-    public void shouldGetUserBookingsWithFutureState() {
-        when(bookingRepository.findByBookerIdAndStartIsAfterOrderByStartDesc(anyInt(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+    public void shouldGetUserBookingsAfterCursor() {
+        BookingCursor cursor = BookingCursor.of(bookingView);
 
-        List<Booking> bookings = bookingService.getUserBookings(1, BookingStatus.FUTURE, anyInt(),
-                1);
+        when(bookingRepository.findBookerBookingsAfter(eq(1), eq(BookingStatus.ALL), any(), eq(cursor), eq(10)))
+                .thenReturn(List.of(bookingView));
 
-        assertThat(booking, is(bookings.get(0)));
-    }
-
-    @Test
-    public void shouldGetUserBookingsWithPastState() {
-        when(bookingRepository.findByBookerIdAndEndIsBeforeOrderByStartDesc(anyInt(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-
-        List<Booking> bookings = bookingService.getUserBookings(1, BookingStatus.PAST, anyInt(),
-                1);
+        List<BookingView> bookings = bookingService.getUserBookingsAfter(1, BookingStatus.ALL, cursor, 10);
 
-        assertThat(booking, is(bookings.get(0)));
+        assertThat(bookingView, is(bookings.get(0)));
     }
 
     @Test
-    public void shouldGetUserBookingsWithCurrentState() {
-        when(bookingRepository.findByBookerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyInt(), any(), any(),
-                any())).thenReturn(new PageImpl<>(List.of(booking)));
+    public void shouldGetOwnerBookingsAfterCursor() {
+        BookingCursor cursor = BookingCursor.of(bookingView);
 
-        List<Booking> bookings = bookingService.getUserBookings(1, BookingStatus.CURRENT, anyInt(),
-                1);
+        when(bookingRepository.findOwnerBookingsAfter(eq(1), eq(BookingStatus.PAST), any(), eq(cursor), eq(10)))
+                .thenReturn(List.of(bookingView));
 
-        assertThat(booking, is(bookings.get(0)));
-    }
-
-    @Test
-    public void shouldGetUserBookingsRejectedState() {
-        when(bookingRepository.findByBookerIdAndStatusEqualsOrderByStartDesc(anyInt(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+        List<BookingView> bookings = bookingService.getOwnerBookingsAfter(1, BookingStatus.PAST, cursor, 10);
 
-        List<Booking> bookings = bookingService.getUserBookings(1, BookingStatus.REJECTED, anyInt(),
-                1);
-
-        assertThat(booking, is(bookings.get(0)));
+        assertThat(bookingView, is(bookings.get(0)));
     }
 
     @Test
     public void shouldThrownExceptionIfUserDoesntExistsWhenGetUserBookings() {
-        when(userService.getUserById(anyInt())).thenThrow(NoSuchElementException.class);
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
         assertThrows(NoSuchElementException.class, () -> bookingService.getUserBookings(anyInt(),
                 BookingStatus.ALL, 1, 1));
     }
 
     @Test
-    public void shouldGetOwnerBookingsWithAllState() {
-        when(bookingRepository.findByItemOwnerIdOrderByStartDesc(anyInt(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+    public void shouldGetOwnerBookingsFirstPage() {
+        when(bookingRepository.findOwnerBookings(eq(1), eq(BookingStatus.REJECTED), any(), eq(0), eq(10)))
+                .thenReturn(List.of(bookingView));
 
-        List<Booking> bookings = bookingService.getOwnerBookings(1, BookingStatus.ALL, anyInt(),
-                1);
+        List<BookingView> bookings = bookingService.getOwnerBookings(1, BookingStatus.REJECTED, 0, 10);
 
-        assertThat(booking, is(bookings.get(0)));
+        assertThat(bookingView, is(bookings.get(0)));
     }
 
     @Test
-    public void shouldGetOwnerBookingsWithFutureState() {
-        when(bookingRepository.findByItemOwnerIdAndStartIsAfterOrderByStartDesc(anyInt(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
-
-        List<Booking> bookings = bookingService.getOwnerBookings(1, BookingStatus.FUTURE, anyInt(),
-                1);
+    public void shouldThrownExceptionIfUserDoesntExistsWhenGetOwnerBookings() {
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
-        assertThat(booking, is(bookings.get(0)));
+        assertThrows(NoSuchElementException.class, () -> bookingService.getOwnerBookings(anyInt(),
+                BookingStatus.ALL, 1, 1));
     }
 
     @Test
-    public void shouldGetOwnerBookingsWithPastState() {
-        when(bookingRepository.findByItemOwnerIdAndEndIsBeforeOrderByStartDesc(anyInt(), any(), any()))
-                .thenReturn(new PageImpl<>(List.of(booking)));
+    public void shouldExportOwnerBookings() {
+        List<BookingView> exported = new ArrayList<>();
 
-        List<Booking> bookings = bookingService.getOwnerBookings(1, BookingStatus.PAST, anyInt(),
-                1);
+        when(bookingRepository.streamOwnerBookings(1)).thenReturn(Stream.of(bookingView, bookingView));
 
-        assertThat(booking, is(bookings.get(0)));
-    }
-
-    @Test
-    public void shouldGetOwnerBookingsWithCurrentState() {
-        when(bookingRepository.findByItemOwnerIdAndStartIsBeforeAndEndIsAfterOrderByStartDesc(anyInt(), any(), any(),
-                any())).thenReturn(new PageImpl<>(List.of(booking)));
+        bookingService.exportOwnerBookings(1, exported::add);
 
-        List<Booking> bookings = bookingService.getOwnerBookings(1, BookingStatus.CURRENT, anyInt(),
-                1);
-
-        assertThat(booking, is(bookings.get(0)));
+        assertThat(exported, is(List.of(bookingView, bookingView)));
+        verify(userService).checkUserExists(1);
     }
 
     @Test
-    public void shouldGetOwnerBookingsWithRejectedState() {
-        when(bookingRepository.findByItemOwnerIdAndStatusEqualsOrderByStartDesc(anyInt(), any(), any())).thenReturn(new PageImpl<>(List.of(booking)));
-
-        List<Booking> bookings = bookingService.getOwnerBookings(1, BookingStatus.REJECTED, anyInt(),
-                1);
-
-        assertThat(booking, is(bookings.get(0)));
-    }
+    public void shouldThrownExceptionIfUserDoesntExistsWhenExportOwnerBookings() {
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
-    @Test
-    public void shouldThrownExceptionIfUserDoesntExistsWhenGetOwnerBookings() {
-        when(userService.getUserById(anyInt())).thenThrow(NoSuchElementException.class);
+        assertThrows(NoSuchElementException.class, () -> bookingService.exportOwnerBookings(1, booking -> {
+        }));
 
-        assertThrows(NoSuchElementException.class, () -> bookingService.getOwnerBookings(anyInt(),
-                BookingStatus.ALL, 1, 1));
+        verify(bookingRepository, never()).streamOwnerBookings(anyInt());
     }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.model.ItemTimeline;
+import ru.practicum.shareit.booking.model.TimelineBooking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.InMemoryBookingTimeline;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingTimelineTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    private InMemoryBookingTimeline bookingTimeline;
+    private LocalDateTime now;
+
+    @BeforeEach
+    public void createTimeline() {
+        bookingTimeline = new InMemoryBookingTimeline(bookingRepository);
+
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    public void shouldFindLastAndNextBookingsAroundNow() {
+        when(bookingRepository.findApprovedTimelines(Set.of(1))).thenReturn(List.of(
+                new TimelineBooking(1, 2, 1, now.minusDays(3)),
+                new TimelineBooking(2, 2, 1, now.minusDays(1)),
+                new TimelineBooking(3, 2, 1, now),
+                new TimelineBooking(4, 2, 1, now.plusDays(1)),
+                new TimelineBooking(5, 2, 1, now.plusDays(2))));
+
+        ItemTimeline timeline = bookingTimeline.getTimelines(List.of(1)).get(1);
+
+        assertThat(timeline.findLast(now).getId(), is(3));
+        assertThat(timeline.findNext(now).getId(), is(4));
+        assertThat(timeline.findLast(now.minusHours(1)).getId(), is(2));
+        assertThat(timeline.findNext(now.minusHours(1)).getId(), is(3));
+    }
+
+    @Test
+    public void shouldReturnEmptyTimelineForItemWithoutApprovedBookings() {
+        when(bookingRepository.findApprovedTimelines(Set.of(1, 2))).thenReturn(List.of(
+                new TimelineBooking(1, 2, 1, now)));
+
+        Map<Integer, ItemTimeline> timelines = bookingTimeline.getTimelines(List.of(1, 2));
+
+        assertNull(timelines.get(1).findLast(now.minusDays(1)));
+        assertNull(timelines.get(1).findNext(now));
+        assertThat(timelines.get(2), is(ItemTimeline.EMPTY));
+    }
+
+    @Test
+    public void shouldLoadOnlyMissingTimelinesInOneQuery() {
+        when(bookingRepository.findApprovedTimelines(Set.of(1, 2))).thenReturn(List.of());
+        when(bookingRepository.findApprovedTimelines(Set.of(3))).thenReturn(List.of());
+
+        bookingTimeline.getTimelines(List.of(1, 2));
+        bookingTimeline.getTimelines(List.of(1, 2, 3));
+        bookingTimeline.getTimelines(List.of(2, 3));
+
+        verify(bookingRepository, times(1)).findApprovedTimelines(Set.of(1, 2));
+        verify(bookingRepository, times(1)).findApprovedTimelines(Set.of(3));
+    }
+
+    @Test
+    public void shouldLoadItemTimelineAgainAfterEvict() {
+        when(bookingRepository.findApprovedTimelines(Set.of(1))).thenReturn(List.of(),
+                List.of(new TimelineBooking(1, 2, 1, now.plusDays(1))));
+
+        assertNull(bookingTimeline.getTimelines(List.of(1)).get(1).findNext(now));
+
+        bookingTimeline.evict(List.of(1));
+
+        assertThat(bookingTimeline.getTimelines(List.of(1)).get(1).findNext(now).getId(), is(1));
+        verify(bookingRepository, times(2)).findApprovedTimelines(Set.of(1));
+    }
+
+    @Test
+    public void shouldNotQueryForNoItems() {
+        assertThat(bookingTimeline.getTimelines(List.of()), is(Map.of()));
+
+        verify(bookingRepository, never()).findApprovedTimelines(anyCollection());
+    }
+}
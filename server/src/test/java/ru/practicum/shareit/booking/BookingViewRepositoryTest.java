@@ -0,0 +1,221 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingDecisionView;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.model.BookingView;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class BookingViewRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private BookingRepository bookingRepository;
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private User owner;
+    private User booker;
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    public void createBookings() {
+        owner = entityManager.persist(User.builder().name("Ilya").email("belyachok567811@gmail.com").build());
+        booker = entityManager.persist(User.builder().name("Maxim").email("iliasacool@gmail.com").build());
+
+        Item item = entityManager.persist(Item.builder()
+                .name("Дрель")
+                .description("Красивая дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        for (int i = -3; i < 3; i++) {
+            bookings.add(entityManager.persist(Booking.builder()
+                    .start(now.plusDays(i))
+                    .end(now.plusDays(i).plusHours(1))
+                    .item(item)
+                    .booker(booker)
+                    .status(BookingStatus.APPROVED)
+                    .build()));
+        }
+
+        bookings.add(entityManager.persist(Booking.builder()
+                .start(now.plusDays(2))
+                .end(now.plusDays(2).plusHours(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build()));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void shouldReturnBookerBookingsPageByPage() {
+        List<Integer> expected = List.of(bookings.get(6).getId(), bookings.get(5).getId(), bookings.get(4).getId(),
+                bookings.get(3).getId(), bookings.get(2).getId(), bookings.get(1).getId(), bookings.get(0).getId());
+
+        List<Integer> actual = new ArrayList<>();
+        BookingCursor cursor = null;
+        List<BookingView> page;
+
+        do {
+            page = bookingRepository.findBookerBookingsAfter(booker.getId(), BookingStatus.ALL, now, cursor, 3);
+            actual.addAll(page.stream().map(BookingView::getId).collect(Collectors.toList()));
+
+            if (!page.isEmpty()) {
+                cursor = BookingCursor.of(page.get(page.size() - 1));
+            }
+        } while (page.size() == 3);
+
+        assertThat(actual, is(expected));
+    }
+
+    @Test
+    public void shouldFilterOwnerBookingsByStateAfterCursor() {
+        List<BookingView> future = bookingRepository.findOwnerBookingsAfter(owner.getId(), BookingStatus.FUTURE, now,
+                new BookingCursor(bookings.get(6).getStart(), bookings.get(6).getId()), 10);
+
+        assertThat(future.stream().map(BookingView::getId).collect(Collectors.toList()),
+                is(List.of(bookings.get(5).getId(), bookings.get(4).getId())));
+
+        List<BookingView> waiting = bookingRepository.findOwnerBookingsAfter(owner.getId(), BookingStatus.WAITING, now,
+                null, 10);
+
+        assertThat(waiting.size(), is(1));
+        assertThat(waiting.get(0).getId(), is(bookings.get(6).getId()));
+    }
+
+    @Test
+    public void shouldReturnDecisionViewsForRequestedBookings() {
+        List<BookingDecisionView> views = bookingRepository.findDecisionViews(List.of(bookings.get(6).getId(), -1));
+
+        assertThat(views.size(), is(1));
+        assertThat(views.get(0).getId(), is(bookings.get(6).getId()));
+        assertThat(views.get(0).getOwnerId(), is(owner.getId()));
+        assertThat(views.get(0).getStatus(), is(BookingStatus.WAITING));
+        assertThat(views.get(0).getStart(), is(bookings.get(6).getStart()));
+    }
+
+    @Test
+    public void shouldUpdateOnlyWaitingBookingsInOneStatement() {
+        Booking rejected = entityManager.persistFlushFind(Booking.builder()
+                .start(now.plusDays(5))
+                .end(now.plusDays(5).plusHours(1))
+                .item(entityManager.find(Booking.class, bookings.get(0).getId()).getItem())
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        int updated = bookingRepository.updateWaitingStatuses(List.of(bookings.get(6).getId()),
+                List.of(rejected.getId(), bookings.get(5).getId()), BookingStatus.APPROVED, BookingStatus.REJECTED);
+
+        entityManager.clear();
+
+        assertThat(updated, is(2));
+        assertThat(entityManager.find(Booking.class, bookings.get(6).getId()).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(entityManager.find(Booking.class, rejected.getId()).getStatus(), is(BookingStatus.REJECTED));
+        assertThat(entityManager.find(Booking.class, bookings.get(5).getId()).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(entityManager.find(Booking.class, bookings.get(6).getId()).getVersion(), is(1));
+        assertThat(entityManager.find(Booking.class, bookings.get(5).getId()).getVersion(), is(0));
+    }
+
+    @Test
+    public void shouldNotOverwriteBookingChangedConcurrently() {
+        Booking stale = bookingRepository.findById(bookings.get(6).getId()).orElseThrow();
+
+        entityManager.detach(stale);
+
+        bookingRepository.updateWaitingStatus(List.of(stale.getId()), BookingStatus.APPROVED);
+
+        stale.setStatus(BookingStatus.REJECTED);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    public void shouldNotReturnOtherUsersBookings() {
+        assertThat(bookingRepository.findBookerBookingsAfter(owner.getId(), BookingStatus.ALL, now, null, 10).size(),
+                is(0));
+        assertThat(bookingRepository.findOwnerBookingsAfter(booker.getId(), BookingStatus.ALL, now, null, 10).size(),
+                is(0));
+    }
+
+    @Test
+    public void shouldReturnBookerBookingsPageByOffset() {
+        List<BookingView> page = bookingRepository.findBookerBookings(booker.getId(), BookingStatus.ALL, now, 3, 3);
+
+        assertThat(page.stream().map(BookingView::getId).collect(Collectors.toList()),
+                is(List.of(bookings.get(3).getId(), bookings.get(2).getId(), bookings.get(1).getId())));
+    }
+
+    @Test
+    public void shouldFilterOwnerBookingsByStateByOffset() {
+        List<BookingView> current = bookingRepository.findOwnerBookings(owner.getId(), BookingStatus.CURRENT,
+                now.plusMinutes(30), 0, 10);
+
+        assertThat(current.size(), is(1));
+        assertThat(current.get(0).getId(), is(bookings.get(3).getId()));
+
+        List<BookingView> past = bookingRepository.findOwnerBookings(owner.getId(), BookingStatus.PAST, now, 1, 10);
+
+        assertThat(past.stream().map(BookingView::getId).collect(Collectors.toList()),
+                is(List.of(bookings.get(1).getId(), bookings.get(0).getId())));
+    }
+
+    @Test
+    public void shouldProjectBookingWithItemOwnerAndBooker() {
+        BookingView booking = bookingRepository.findBookerBookings(booker.getId(), BookingStatus.WAITING, now, 0, 10)
+                .get(0);
+
+        assertThat(booking.getId(), is(bookings.get(6).getId()));
+        assertThat(booking.getStart(), is(now.plusDays(2)));
+        assertThat(booking.getEnd(), is(now.plusDays(2).plusHours(2)));
+        assertThat(booking.getStatus(), is(BookingStatus.WAITING));
+        assertThat(booking.getItemName(), is("Дрель"));
+        assertThat(booking.getItemDescription(), is("Красивая дрель"));
+        assertThat(booking.getItemAvailable(), is(true));
+        assertThat(booking.getItemRequestId(), is(nullValue()));
+        assertThat(booking.getOwnerId(), is(owner.getId()));
+        assertThat(booking.getOwnerEmail(), is("belyachok567811@gmail.com"));
+        assertThat(booking.getBookerId(), is(booker.getId()));
+        assertThat(booking.getBookerName(), is("Maxim"));
+    }
+
+    @Test
+    public void shouldStreamWholeOwnerHistoryNewestFirst() {
+        List<Integer> expected = List.of(bookings.get(6).getId(), bookings.get(5).getId(), bookings.get(4).getId(),
+                bookings.get(3).getId(), bookings.get(2).getId(), bookings.get(1).getId(), bookings.get(0).getId());
+
+        try (Stream<BookingView> history = bookingRepository.streamOwnerBookings(owner.getId())) {
+            assertThat(history.map(BookingView::getId).collect(Collectors.toList()), is(expected));
+        }
+
+        try (Stream<BookingView> history = bookingRepository.streamOwnerBookings(booker.getId())) {
+            assertThat(history.count(), is(0L));
+        }
+    }
+}
\ No newline at end of file
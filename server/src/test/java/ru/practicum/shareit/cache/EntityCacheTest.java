@@ -0,0 +1,215 @@
+package ru.practicum.shareit.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:entity-cache;MODE=PostgreSQL")
+@AutoConfigureMockMvc
+public class EntityCacheTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    public void createData() {
+        owner = userRepository.save(User.builder()
+                .name("Ilya")
+                .email("owner" + System.nanoTime() + "@gmail.com")
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    public void shouldReadItemFromSecondLevelCache() throws Exception {
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        double hits = itemCacheHits().count();
+
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(itemCacheHits().count(), greaterThan(hits));
+    }
+
+    @Test
+    public void shouldReturnUpdatedItemAfterUpdate() throws Exception {
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(jsonPath("$[0].description", is("Простая дрель")));
+
+        mockMvc.perform(patch("/items/{itemId}", item.getId())
+                        .header(USER_HEADER, owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"Ударная дрель\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(jsonPath("$[0].description", is("Ударная дрель")));
+    }
+
+    @Test
+    public void shouldReturnUpdatedUserAfterUpdate() throws Exception {
+        mockMvc.perform(get("/users/{userId}", owner.getId()))
+                .andExpect(jsonPath("$.name", is("Ilya")));
+
+        mockMvc.perform(patch("/users/{userId}", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Maxim\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users/{userId}", owner.getId()))
+                .andExpect(jsonPath("$.name", is("Maxim")));
+    }
+
+    @Test
+    public void shouldEvictOwnedItemsAfterUserDeletion() throws Exception {
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/users/{userId}", owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId()), is(false));
+    }
+
+    @Test
+    public void shouldRemoveOwnedItemsFromSearchIndexAfterUserDeletion() throws Exception {
+        itemSearchIndex.index(item);
+
+        mockMvc.perform(delete("/users/{userId}", owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(itemSearchIndex.search("дрель", 0, Integer.MAX_VALUE), not(hasItem(item.getId())));
+    }
+
+    @Test
+    public void shouldBookSlotOfDeletedBookerAgain() throws Exception {
+        User booker = userRepository.save(User.builder()
+                .name("Maxim")
+                .email("booker" + System.nanoTime() + "@gmail.com")
+                .build());
+        User nextBooker = userRepository.save(User.builder()
+                .name("Oleg")
+                .email("next" + System.nanoTime() + "@gmail.com")
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        String booking = String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}", item.getId(),
+                start, start.plusDays(1));
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booking))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/users/{userId}", booker.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/bookings")
+                        .header(USER_HEADER, nextBooker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booking))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void shouldShowApprovedBookingInOwnerItemsUntilBookerDeletion() throws Exception {
+        User booker = userRepository.save(User.builder()
+                .name("Maxim")
+                .email("booker" + System.nanoTime() + "@gmail.com")
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nextBooking").doesNotExist());
+
+        String booking = mockMvc.perform(post("/bookings")
+                        .header(USER_HEADER, booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"itemId\": %d, \"start\": \"%s\", \"end\": \"%s\"}",
+                                item.getId(), start, start.plusDays(1))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Integer bookingId = JsonPath.read(booking, "$.id");
+
+        mockMvc.perform(patch("/bookings/{bookingId}", bookingId)
+                        .header(USER_HEADER, owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nextBooking.id").value(bookingId));
+
+        mockMvc.perform(delete("/users/{userId}", booker.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nextBooking").doesNotExist());
+    }
+
+    @Test
+    public void shouldExposeSecondLevelCacheMetrics() throws Exception {
+        mockMvc.perform(get("/items").header(USER_HEADER, owner.getId()))
+                .andExpect(status().isOk());
+
+        assertThat(itemCacheHits(), is(notNullValue()));
+    }
+
+    private FunctionCounter itemCacheHits() {
+        return meterRegistry.find("cache.gets")
+                .tag("cache", Item.CACHE_REGION)
+                .tag("result", "hit")
+                .functionCounter();
+    }
+}
@@ -125,10 +125,10 @@ public class CommentServiceTest {
     }
 
     @Test
-    public void shouldGetItemComments() {
-        when(commentRepository.getCommentByItemId(anyInt())).thenReturn(List.of(comment));
+    public void shouldGetItemsComments() {
+        when(commentRepository.findByItemIdIn(List.of(1))).thenReturn(List.of(comment));
 
-        List<Comment> itemsComments = commentService.getItemComments(anyInt());
+        List<Comment> itemsComments = commentService.getItemsComments(List.of(1));
 
         assertThat(comment, is(itemsComments.get(0)));
     }
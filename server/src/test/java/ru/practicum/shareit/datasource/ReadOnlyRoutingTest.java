@@ -0,0 +1,93 @@
+package ru.practicum.shareit.datasource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=PostgreSQL",
+        "spring.datasource.replica.jdbc-url=" + ReadOnlyRoutingTest.REPLICA_URL,
+        "spring.datasource.replica.driver-class-name=org.h2.Driver",
+        "spring.datasource.replica.username=test",
+        "spring.datasource.replica.password=test"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ReadOnlyRoutingTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+
+    static {
+        Flyway.configure().dataSource(REPLICA_URL, "test", "test").load().migrate();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeAll
+    public void fillReplica() {
+        new JdbcTemplate(replicaDataSource).update("INSERT INTO users (name, email) VALUES (?, ?)", "Replica",
+                "replica@shareit.ru");
+    }
+
+    @Test
+    public void shouldWriteToPrimaryAndReadFromReplica() {
+        User user = userService.createNewUser(User.builder().name("Primary").email("primary@shareit.ru").build());
+
+        Integer primaryUsers = new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email = 'primary@shareit.ru'", Integer.class);
+        List<String> users = userService.getUsers().stream().map(User::getName).collect(Collectors.toList());
+
+        assertThat(primaryUsers, is(1));
+        assertThat(users, is(List.of("Replica")));
+
+        User updatedUser = userService.updateUser(User.builder().name("Updated").build(), user.getId());
+
+        assertThat(updatedUser.getName(), is("Updated"));
+    }
+
+    @Test
+    public void shouldReadOwnWritesFromPrimary() throws Exception {
+        mockMvc.perform(post("/users")
+                        .header(USER_HEADER, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Writer\", \"email\": \"writer@shareit.ru\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users").header(USER_HEADER, 1))
+                .andExpect(jsonPath("$[*].name", hasItem("Writer")));
+        mockMvc.perform(get("/users").header(USER_HEADER, 2))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Writer"))));
+    }
+}
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class ItemCardRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ItemRepository itemRepository;
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+    private Comment firstComment;
+    private Comment secondComment;
+
+    @BeforeEach
+    public void createItem() {
+        owner = entityManager.persist(User.builder().name("Ilya").email("belyachok567811@gmail.com").build());
+        booker = entityManager.persist(User.builder().name("Maxim").email("iliasacool@gmail.com").build());
+
+        item = entityManager.persist(Item.builder()
+                .name("Дрель")
+                .description("Красивая дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        createBooking(now.minusDays(3), BookingStatus.APPROVED);
+        lastBooking = createBooking(now.minusDays(1), BookingStatus.APPROVED);
+        createBooking(now.plusHours(1), BookingStatus.WAITING);
+        createBooking(now.plusHours(2), BookingStatus.REJECTED);
+        nextBooking = createBooking(now.plusDays(1), BookingStatus.APPROVED);
+        createBooking(now.plusDays(2), BookingStatus.APPROVED);
+
+        firstComment = createComment("Отличная дрель");
+        secondComment = createComment("Сверлит бетон");
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void shouldReturnItemCardWithBookingsAndCommentsForOwner() {
+        ItemDto itemDto = ItemMapper.toItemDto(itemRepository.findItemCard(item.getId(), owner.getId(), now));
+
+        assertThat(itemDto.getId(), is(item.getId()));
+        assertThat(itemDto.getName(), is("Дрель"));
+        assertThat(itemDto.getAvailable(), is(true));
+        assertThat(itemDto.getOwner().getEmail(), is(owner.getEmail()));
+        assertThat(itemDto.getRequestId(), is(nullValue()));
+        assertThat(itemDto.getLastBooking().getId(), is(lastBooking.getId()));
+        assertThat(itemDto.getLastBooking().getBookerId(), is(booker.getId()));
+        assertThat(itemDto.getNextBooking().getId(), is(nextBooking.getId()));
+        assertThat(itemDto.getComments().stream().map(comment -> comment.getId()).collect(Collectors.toList()),
+                is(List.of(firstComment.getId(), secondComment.getId())));
+        assertThat(itemDto.getComments().get(0).getAuthorName(), is("Maxim"));
+        assertThat(itemDto.getComments().get(1).getCreated(), is(secondComment.getCreated()));
+    }
+
+    @Test
+    public void shouldHideBookingsFromNotOwner() {
+        ItemDto itemDto = ItemMapper.toItemDto(itemRepository.findItemCard(item.getId(), booker.getId(), now));
+
+        assertThat(itemDto.getLastBooking(), is(nullValue()));
+        assertThat(itemDto.getNextBooking(), is(nullValue()));
+        assertThat(itemDto.getComments().size(), is(2));
+    }
+
+    @Test
+    public void shouldReturnItemCardWithoutBookingsAndComments() {
+        Item newItem = entityManager.persistAndFlush(Item.builder()
+                .name("Отвертка")
+                .description("Крестовая отвертка")
+                .available(false)
+                .owner(owner)
+                .build());
+
+        List<ItemCardView> card = itemRepository.findItemCard(newItem.getId(), owner.getId(), now);
+        ItemDto itemDto = ItemMapper.toItemDto(card);
+
+        assertThat(card.size(), is(1));
+        assertThat(card.get(0).getOwnerVersion(), is(owner.getVersion()));
+        assertThat(itemDto.getLastBooking(), is(nullValue()));
+        assertThat(itemDto.getNextBooking(), is(nullValue()));
+        assertThat(itemDto.getComments(), is(List.of()));
+    }
+
+    @Test
+    public void shouldReturnEmptyCardIfItemDoesntExist() {
+        assertThat(itemRepository.findItemCard(item.getId() + 100, owner.getId(), now), is(List.of()));
+    }
+
+    private Booking createBooking(LocalDateTime start, BookingStatus status) {
+        return entityManager.persist(Booking.builder()
+                .start(start)
+                .end(start.plusHours(1))
+                .item(item)
+                .booker(booker)
+                .status(status)
+                .build());
+    }
+
+    private Comment createComment(String text) {
+        return entityManager.persist(Comment.builder()
+                .item(item)
+                .author(booker)
+                .text(text)
+                .created(now.minusHours(1))
+                .build());
+    }
+}
@@ -9,7 +9,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -21,12 +23,15 @@ import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +42,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -54,6 +60,7 @@ public class ItemControllerTest {
     private Item item;
     private User user;
     private ItemDto itemDto;
+    private Map<String, Object> card;
     private final String headerUserId = "X-Sharer-User-Id";
 
     @BeforeEach
@@ -73,6 +80,16 @@ public class ItemControllerTest {
                 .build();
 
         itemDto = ItemMapper.toItemDto(item);
+
+        card = new HashMap<>();
+        card.put("id", item.getId());
+        card.put("name", item.getName());
+        card.put("description", item.getDescription());
+        card.put("available", item.getAvailable());
+        card.put("ownerId", user.getId());
+        card.put("ownerName", user.getName());
+        card.put("ownerEmail", user.getEmail());
+        card.put("ownerVersion", 0);
     }
 
     @Test
@@ -170,7 +187,8 @@ public class ItemControllerTest {
 
     @Test
     public void shouldGetItemById() throws Exception {
-        when(itemService.getItemById(anyInt(), anyInt())).thenReturn(item);
+        when(itemService.getItemCard(anyInt(), anyInt())).thenReturn(toItemCard());
+        itemDto.setComments(List.of());
 
         ResultActions resultActions = mockMvc.perform(get("/items/{itemId}", item.getId())
                 .header(headerUserId, user.getId())
@@ -182,9 +200,54 @@ public class ItemControllerTest {
         checkItemOk(resultActions);
     }
 
+    @Test
+    public void shouldReturnNotModifiedIfItemEntityTagMatches() throws Exception {
+        when(itemService.getItemCard(anyInt(), anyInt())).thenReturn(toItemCard());
+
+        String entityTag = mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(headerUserId, user.getId())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, headerUserId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(headerUserId, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, headerUserId))
+                .andExpect(content().string(""));
+
+        card.put("ownerName", "Maxim");
+
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(headerUserId, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        card.put("ownerVersion", 1);
+
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(headerUserId, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        card.put("version", 1);
+
+        mockMvc.perform(get("/items/{itemId}", item.getId())
+                        .header(headerUserId, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
     @Test
     public void shouldThrownExceptionIfItemOrUserDoesntExistsWhenGetItemById() throws Exception {
-        when(itemService.getItemById(anyInt(), anyInt())).thenThrow(NoSuchElementException.class);
+        when(itemService.getItemCard(anyInt(), anyInt())).thenThrow(NoSuchElementException.class);
 
         ResultActions resultActions = mockMvc.perform(get("/items/{itemId}", item.getId())
                 .header(headerUserId, user.getId())
@@ -226,7 +289,7 @@ public class ItemControllerTest {
 
     @Test
     public void shouldGetItemsForSearch() throws Exception {
-        when(itemService.getItemsForSearch(anyInt(), anyString())).thenReturn(List.of(item));
+        when(itemService.getItemsForSearch(anyInt(), anyString(), anyInt(), anyInt())).thenReturn(List.of(item));
 
         ResultActions resultActions = mockMvc.perform(get("/items/search")
                 .header(headerUserId, user.getId())
@@ -241,7 +304,7 @@ public class ItemControllerTest {
 
     @Test
     public void shouldThrownExceptionIfUserDoesntExistsWhenGetItemsForSearch() throws Exception {
-        when(itemService.getItemsForSearch(anyInt(), anyString())).thenThrow(NoSuchElementException.class);
+        when(itemService.getItemsForSearch(anyInt(), anyString(), anyInt(), anyInt())).thenThrow(NoSuchElementException.class);
 
         ResultActions resultActions = mockMvc.perform(get("/items/search")
                 .header(headerUserId, user.getId())
@@ -322,6 +385,10 @@ public class ItemControllerTest {
         checkThrown(resultActions);
     }
 
+    private List<ItemCardView> toItemCard() {
+        return List.of(new SpelAwareProxyProjectionFactory().createProjection(ItemCardView.class, card));
+    }
+
     private void checkItemOk(ResultActions request) throws Exception {
         request
                 .andExpect(status().isOk())
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.InMemoryItemSearchIndex;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.empty;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+    private InMemoryItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    public void createIndex() {
+        itemSearchIndex = new InMemoryItemSearchIndex(itemRepository);
+
+        itemSearchIndex.rebuild(List.of(
+                createItem(1, "Дрель", "Простая дрель", true),
+                createItem(2, "Аккумуляторная отвертка", "Аккумулятор на 20 минут", true),
+                createItem(3, "Клей Момент", "Тюбик суперклея, подходит для дрели", true),
+                createItem(4, "Дрель ударная", "Сломана", false)
+        ));
+    }
+
+    @Test
+    public void shouldFindItemsCaseInsensitiveByPrefix() {
+        assertThat(itemSearchIndex.search("аККумулятор", 0, 10), is(List.of(2)));
+        assertThat(itemSearchIndex.search("дрел", 0, 10), is(List.of(1, 3)));
+    }
+
+    @Test
+    public void shouldRankNameMatchesHigherThanDescriptionMatches() {
+        assertThat(itemSearchIndex.search("дрели", 0, 10), is(List.of(3)));
+        assertThat(itemSearchIndex.search("клей", 0, 10), is(List.of(3)));
+        assertThat(itemSearchIndex.search("аккумулятор отвертка", 0, 10), is(List.of(2)));
+    }
+
+    @Test
+    public void shouldRequireAllWordsOfSearch() {
+        assertThat(itemSearchIndex.search("дрель пила", 0, 10), is(empty()));
+    }
+
+    @Test
+    public void shouldPageSearchResults() {
+        assertThat(itemSearchIndex.search("дрел", 1, 10), is(List.of(3)));
+        assertThat(itemSearchIndex.search("дрел", 0, 1), is(List.of(1)));
+    }
+
+    @Test
+    public void shouldReindexUpdatedItem() {
+        itemSearchIndex.index(createItem(1, "Перфоратор", "Мощный", true));
+        itemSearchIndex.index(createItem(4, "Дрель ударная", "Починили", true));
+
+        assertThat(itemSearchIndex.search("перфоратор", 0, 10), is(List.of(1)));
+        assertThat(itemSearchIndex.search("дрел", 0, 10), is(List.of(4, 3)));
+    }
+
+    @Test
+    public void shouldRemoveItemFromIndex() {
+        itemSearchIndex.remove(2);
+        itemSearchIndex.index(createItem(1, "Дрель", "Простая дрель", false));
+
+        assertThat(itemSearchIndex.search("аккумулятор", 0, 10), is(empty()));
+        assertThat(itemSearchIndex.search("дрел", 0, 10), is(List.of(3)));
+    }
+
+    @Test
+    public void shouldReturnEmptyListForBlankSearch() {
+        assertThat(itemSearchIndex.search(" , ", 0, 10), is(empty()));
+    }
+
+    private Item createItem(int id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
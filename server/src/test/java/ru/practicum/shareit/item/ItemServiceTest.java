@@ -8,12 +8,20 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.booking.model.ItemTimeline;
+import ru.practicum.shareit.booking.model.TimelineBooking;
 import ru.practicum.shareit.booking.service.ItemBookingService;
+import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.service.CommentService;
 import ru.practicum.shareit.item.dto.ItemCreationDto;
 import ru.practicum.shareit.item.exception.PermissionException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemCardView;
+import ru.practicum.shareit.item.model.RequestItemView;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -22,20 +30,26 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 @ExtendWith(MockitoExtension.class)
 public class ItemServiceTest {
@@ -49,6 +63,8 @@ public class ItemServiceTest {
     private ItemBookingService bookingService;
     @Mock
     private CommentService commentService;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
     @InjectMocks
     private ItemServiceImpl itemService;
     private Item item;
@@ -88,6 +104,30 @@ public class ItemServiceTest {
         assertThat(createditem, is(item));
     }
 
+    @Test
+    public void shouldIndexCreatedItemOnlyAfterCommit() {
+        creationDto = ItemCreationDto.builder()
+                .name("Дрель")
+                .description("Красивая дрель")
+                .build();
+
+        when(itemRepository.save(any())).thenReturn(item);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            itemService.createNewItem(creationDto, 1);
+
+            verify(itemSearchIndex, never()).index(any());
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(itemSearchIndex).index(item);
+    }
+
     @Test
     public void shouldCreateItemWithValidFieldsAndItemRequest() {
         ItemRequest itemRequest = ItemRequest.builder()
@@ -141,8 +181,9 @@ public class ItemServiceTest {
 
         itemService.updateItem(updatedItem, 1, 1);
 
-        verify(itemRepository, times(1)).save(any());
-        verify(itemRepository).save(itemCaptor.capture());
+        verify(itemSearchIndex).index(item);
+        verify(itemRepository, times(1)).saveAndFlush(any());
+        verify(itemRepository).saveAndFlush(itemCaptor.capture());
 
         Item getUpdatedItem = itemCaptor.getValue();
 
@@ -177,7 +218,7 @@ public class ItemServiceTest {
                 .owner(user)
                 .build();
 
-        when(userService.getUserById(anyInt())).thenThrow(NoSuchElementException.class);
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
         assertThrows(NoSuchElementException.class, () -> itemService.updateItem(updatedItem, 1, 1));
     }
@@ -198,12 +239,15 @@ public class ItemServiceTest {
     }
 
     @Test
-    public void shouldGetItemById() {
-        when(itemRepository.findById(anyInt())).thenReturn(Optional.of(item));
+    public void shouldGetItemCard() {
+        ItemCardView card = mock(ItemCardView.class);
 
-        Item getItem = itemService.getItemById(1, 1);
+        when(itemRepository.findItemCard(eq(1), eq(2), any())).thenReturn(List.of(card));
 
-        assertThat(getItem, is(item));
+        List<ItemCardView> getCard = itemService.getItemCard(1, 2);
+
+        assertThat(getCard, is(List.of(card)));
+        verify(userService).checkUserExists(2);
     }
 
     @Test
@@ -224,16 +268,20 @@ public class ItemServiceTest {
 
     @Test
     public void shouldThrownExceptionIfUserDoesntExists() {
-        when(userService.getUserById(anyInt())).thenThrow(NoSuchElementException.class);
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
-        assertThrows(NoSuchElementException.class, () -> itemService.getItemById(1, 1));
+        assertThrows(NoSuchElementException.class, () -> itemService.getItemCard(1, 1));
+        verify(itemRepository, never()).findItemCard(anyInt(), anyInt(), any());
     }
 
     @Test
     public void shouldThrownExceptionWhenItemDoesntExists() {
-        when(itemRepository.findById(anyInt())).thenReturn(Optional.empty());
+        when(itemRepository.findItemCard(anyInt(), anyInt(), any())).thenReturn(List.of());
 
-        assertThrows(NoSuchElementException.class, () -> itemService.getItemById(1, 1));
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class,
+                () -> itemService.getItemCard(1, 1));
+
+        assertThat(exception.getMessage(), is("Отсутствует вещь с id = 1"));
     }
 
     @Test
@@ -245,41 +293,119 @@ public class ItemServiceTest {
         assertThat(item, is(usersItems.get(0)));
     }
 
+    @Test
+    public void shouldGetUsersItemsWithBookingsAndCommentsInBatch() {
+        Item secondItem = Item.builder()
+                .id(2)
+                .name("Отвертка")
+                .description("Крестовая отвертка")
+                .available(true)
+                .owner(user)
+                .build();
+
+        LocalDateTime now = LocalDateTime.now();
+        ItemTimeline timeline = new ItemTimeline(List.of(
+                new TimelineBooking(10, 3, 1, now.minusDays(1)),
+                new TimelineBooking(11, 4, 1, now.plusDays(1))));
+
+        Comment comment = Comment.builder()
+                .id(1)
+                .item(secondItem)
+                .author(user)
+                .text("Отличная отвертка")
+                .created(LocalDateTime.now())
+                .build();
+
+        when(itemRepository.findByOwnerIdOrderById(1)).thenReturn(List.of(item, secondItem));
+        when(bookingService.getItemsTimelines(anyList())).thenReturn(Map.of(1, timeline, 2, ItemTimeline.EMPTY));
+        when(commentService.getItemsComments(anyList())).thenReturn(List.of(comment));
+
+        List<Item> usersItems = itemService.getUsersItems(1);
+
+        assertThat(usersItems.get(0).getLastBooking().getId(), is(10));
+        assertThat(usersItems.get(0).getNextBooking().getBookerId(), is(4));
+        assertThat(usersItems.get(0).getComments(), is(nullValue()));
+        assertThat(usersItems.get(1).getLastBooking(), is(nullValue()));
+        assertThat(usersItems.get(1).getComments(), is(List.of(comment)));
+        verify(itemRepository, never()).findItemCard(anyInt(), anyInt(), any());
+    }
+
     @Test
     public void shouldGetItemsForSearch() {
-        when(itemRepository.findByAvailableIsTrueAndNameContainingIgnoreCaseOrAvailableIsTrueAndDescriptionContainingIgnoreCase(
-                anyString(), anyString())).thenReturn(List.of(item));
+        Item secondItem = Item.builder()
+                .id(2)
+                .name("Дрель ударная")
+                .description("Мощная дрель")
+                .available(true)
+                .owner(user)
+                .build();
+
+        when(itemSearchIndex.search("дрель", 0, 10)).thenReturn(List.of(2, 1));
+        when(itemRepository.findAllById(List.of(2, 1))).thenReturn(List.of(item, secondItem));
+
+        List<Item> items = itemService.getItemsForSearch(1, "дрель", 0, 10);
+
+        assertThat(items, is(List.of(secondItem, item)));
+    }
+
+    @Test
+    public void shouldFillSearchPageIfIndexedItemsWereDeleted() {
+        Item secondItem = Item.builder()
+                .id(2)
+                .name("Дрель ударная")
+                .description("Мощная дрель")
+                .available(true)
+                .owner(user)
+                .build();
+
+        when(itemSearchIndex.search("дрель", 0, 2)).thenReturn(List.of(3, 1));
+        when(itemRepository.findAllById(List.of(3, 1))).thenReturn(List.of(item));
+        when(itemSearchIndex.search("дрель", 2, 1)).thenReturn(List.of(2));
+        when(itemRepository.findAllById(List.of(2))).thenReturn(List.of(secondItem));
 
-        List<Item> items = itemService.getItemsForSearch(anyInt(), "anyString()");
+        List<Item> items = itemService.getItemsForSearch(1, "дрель", 0, 2);
 
-        assertThat(item, is(items.get(0)));
+        assertThat(items, is(List.of(item, secondItem)));
+    }
+
+    @Test
+    public void shouldGetEmptyItemsForSearchWhenNothingFound() {
+        when(itemSearchIndex.search(anyString(), anyInt(), anyInt())).thenReturn(List.of());
+
+        List<Item> items = itemService.getItemsForSearch(1, "пила", 0, 10);
+
+        assertTrue(items.isEmpty());
+        verify(itemRepository, never()).findAllById(any());
     }
 
     @Test
     public void shouldGetEmptyItemsForSearchWhenSearchIsNull() {
-        List<Item> a = itemService.getItemsForSearch(anyInt(), null);
+        List<Item> a = itemService.getItemsForSearch(1, null, 0, 10);
         assertTrue(a.isEmpty());
     }
 
     @Test
     public void shouldGetEmptyItemsForSearchWhenSearchIsBlank() {
-        List<Item> a = itemService.getItemsForSearch(anyInt(), "  ");
+        List<Item> a = itemService.getItemsForSearch(1, "  ", 0, 10);
         assertTrue(a.isEmpty());
     }
 
     @Test
     public void shouldThrownExceptionIfUserDoesntExistsWhenGetEmptyItemsForSearch() {
-        when(userService.getUserById(anyInt())).thenThrow(NoSuchElementException.class);
+        doThrow(NoSuchElementException.class).when(userService).checkUserExists(anyInt());
 
-        assertThrows(NoSuchElementException.class, () -> itemService.getItemsForSearch(anyInt(), null));
+        assertThrows(NoSuchElementException.class, () -> itemService.getItemsForSearch(1, null, 0, 10));
     }
 
     @Test
     public void shouldFindByRequestIdIn() {
-        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of(item));
+        RequestItemView requestItem = new RequestItemView(1, "Дрель", "Простая дрель", true, 1, "Ilya",
+                "belyachok567811@gmail.com", 0, 1, 0);
+
+        when(itemRepository.findByRequestIdIn(anyList())).thenReturn(List.of(requestItem));
 
-        List<Item> items = itemService.findByRequestIdIn(anyList());
+        List<RequestItemView> items = itemService.findByRequestIdIn(anyList());
 
-        assertThat(item, is(items.get(0)));
+        assertThat(requestItem, is(items.get(0)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ServiceMetricsAspectTest {
+    @Mock
+    private UserService userService;
+    @Mock
+    private BookingService bookingService;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void createRegistry() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    public void shouldTimeSuccessfulServiceCall() {
+        when(userService.getUsers()).thenReturn(List.of());
+
+        proxy(userService).getUsers();
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_CALLS)
+                .tag("service", "UserService")
+                .tag("method", "getUsers")
+                .tag("state", EndpointTags.NONE)
+                .tag("endpoint", EndpointTags.NONE)
+                .tag("outcome", ServiceMetricsAspect.SUCCESS)
+                .timer();
+
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.count(), is(1L));
+    }
+
+    @Test
+    public void shouldTagServiceCallWithExceptionType() {
+        when(userService.getUserById(1)).thenThrow(new NoSuchElementException("Пользователь не найден"));
+
+        UserService proxy = proxy(userService);
+
+        assertThrows(NoSuchElementException.class, () -> proxy.getUserById(1));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_CALLS)
+                .tag("method", "getUserById")
+                .tag("outcome", "NoSuchElementException")
+                .timer();
+
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.count(), is(1L));
+    }
+
+    @Test
+    public void shouldTagBookingServiceCallWithState() {
+        proxy(bookingService).getUserBookings(1, BookingStatus.PAST, 0, 10);
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_CALLS)
+                .tag("service", "BookingService")
+                .tag("method", "getUserBookings")
+                .tag("state", "PAST")
+                .timer();
+
+        assertThat(timer, is(notNullValue()));
+        assertThat(timer.count(), is(1L));
+    }
+
+    private <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+
+        return factory.getProxy();
+    }
+}
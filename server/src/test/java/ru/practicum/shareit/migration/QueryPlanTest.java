@@ -0,0 +1,201 @@
+package ru.practicum.shareit.migration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class QueryPlanTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private StatementCapture statementCapture;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public void shouldFindBookerBookingsByIndex(BookingStatus status) {
+        assertNoTableScan(() -> bookingRepository.findBookerBookings(1, status, NOW, 0, 10));
+        assertNoTableScan(() -> bookingRepository.findBookerBookingsAfter(1, status, NOW,
+                new BookingCursor(NOW, 1), 10));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStatus.class, names = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    public void shouldFindOwnerBookingsByIndex(BookingStatus status) {
+        assertNoTableScan(() -> bookingRepository.findOwnerBookings(1, status, NOW, 0, 10));
+        assertNoTableScan(() -> bookingRepository.findOwnerBookingsAfter(1, status, NOW,
+                new BookingCursor(NOW, 1), 10));
+    }
+
+    @Test
+    public void shouldStreamOwnerBookingsByIndex() {
+        assertNoTableScan(() -> {
+            try (Stream<?> bookings = bookingRepository.streamOwnerBookings(1)) {
+                bookings.forEach(booking -> {
+                });
+            }
+        });
+    }
+
+    @Test
+    public void shouldFindItemBookingsByIndex() {
+        assertNoTableScan(() -> bookingRepository.findApprovedTimelines(List.of(1, 2)));
+        assertNoTableScan(() -> bookingRepository.existsFinishedBooking(1, 1, NOW));
+        assertNoTableScan(() -> bookingRepository.findByItemIdAndStatusInAndEndIsAfterOrderByStart(1,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW));
+        assertNoTableScan(() -> bookingRepository.findItemIdsByBookerIdAndStatusInAndEndIsAfter(1,
+                List.of(BookingStatus.WAITING, BookingStatus.APPROVED), NOW));
+        assertNoTableScan(() -> bookingRepository.findApprovedItemIdsByBookerId(1));
+    }
+
+    @Test
+    public void shouldDecideBookingsByIndex() {
+        assertNoTableScan(() -> bookingRepository.findDecisionViews(List.of(1, 2)));
+        assertNoTableScan(() -> bookingRepository.updateWaitingStatus(List.of(1, 2), BookingStatus.APPROVED));
+        assertNoTableScan(() -> bookingRepository.updateWaitingStatuses(List.of(1), List.of(2),
+                BookingStatus.APPROVED, BookingStatus.REJECTED));
+    }
+
+    @Test
+    public void shouldFindItemsByIndex() {
+        assertNoTableScan(() -> itemRepository.findByOwnerIdOrderById(1));
+        assertNoTableScan(() -> itemRepository.findAllById(List.of(1, 2)));
+        assertNoTableScan(() -> itemRepository.findByRequestIdIn(List.of(1, 2)));
+        assertNoTableScan(() -> itemRepository.findItemCard(1, 1, NOW));
+    }
+
+    @Test
+    public void shouldFindCommentsAndRequestsByIndex() {
+        assertNoTableScan(() -> commentRepository.findByItemIdIn(List.of(1, 2)));
+        assertNoTableScan(() -> itemRequestRepository.findByRequestorIdOrderByCreatedDesc(1));
+        assertNoTableScan(() -> itemRequestRepository.findViewById(1));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "BOOKINGS, BOOKINGS_ITEM_ID_START_DATE_END_DATE_IDX",
+            "BOOKINGS, BOOKINGS_BOOKER_ID_START_DATE_IDX",
+            "ITEMS, ITEMS_OWNER_ID_IDX",
+            "ITEMS, ITEMS_REQUEST_ID_IDX",
+            "COMMENTS, COMMENTS_ITEM_ID_IDX",
+            "ITEMS_REQUESTS, ITEMS_REQUESTS_REQUESTOR_ID_CREATED_IDX"
+    })
+    public void shouldCreateIndexInMigration(String table, String index) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES " +
+                "WHERE TABLE_NAME = ? AND INDEX_NAME = ?", Integer.class, table, index);
+
+        assertThat(count, is(1));
+    }
+
+    private void assertNoTableScan(Runnable repositoryCall) {
+        List<String> statements = statementCapture.capture(repositoryCall);
+
+        assertThat(statements, is(not(empty())));
+
+        for (String statement : statements) {
+            assertThat(statement, explain(statement), not(containsString("tableScan")));
+        }
+    }
+
+    private String explain(String statement) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement)) {
+                for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                    explain.setNull(i, Types.NULL);
+                }
+
+                try (ResultSet plan = explain.executeQuery()) {
+                    List<String> lines = new ArrayList<>();
+
+                    while (plan.next()) {
+                        lines.add(plan.getString(1));
+                    }
+
+                    return String.join("\n", lines);
+                }
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCapture);
+        }
+    }
+
+    static class StatementCapture implements StatementInspector {
+        private final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> captured = statements.get();
+
+            if (captured != null) {
+                captured.add(sql);
+            }
+
+            return sql;
+        }
+
+        List<String> capture(Runnable repositoryCall) {
+            statements.set(new ArrayList<>());
+
+            try {
+                repositoryCall.run();
+
+                return statements.get();
+            } finally {
+                statements.remove();
+            }
+        }
+    }
+}
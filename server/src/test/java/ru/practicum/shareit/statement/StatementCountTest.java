@@ -0,0 +1,247 @@
+package ru.practicum.shareit.statement;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.metrics.ServiceMetricsAspect;
+import ru.practicum.shareit.metrics.SqlStatementMetricsInterceptor;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statements;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class StatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    private User owner;
+    private User booker;
+    private Item item;
+    private ItemRequest itemRequest;
+    private Booking booking;
+
+    @BeforeAll
+    public void createData() {
+        LocalDateTime now = LocalDateTime.now();
+
+        owner = userRepository.save(User.builder().name("Ilya").email("belyachok567811@gmail.com").build());
+        booker = userRepository.save(User.builder().name("Maxim").email("iliasacool@gmail.com").build());
+        itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                .description("Нужна дрель")
+                .requestor(booker)
+                .created(now.minusDays(3))
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Простая дрель")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        Item requestedItem = itemRepository.save(Item.builder()
+                .name("Дрель ударная")
+                .description("Дрель по запросу")
+                .available(true)
+                .owner(owner)
+                .request(itemRequest)
+                .build());
+
+        itemSearchIndex.index(item);
+        itemSearchIndex.index(requestedItem);
+
+        booking = bookingRepository.save(createBooking(item, now.minusDays(2), now.minusDays(1),
+                BookingStatus.APPROVED));
+        bookingRepository.save(createBooking(item, now.plusDays(1), now.plusDays(2), BookingStatus.APPROVED));
+        bookingRepository.save(createBooking(requestedItem, now.plusDays(1), now.plusDays(2), BookingStatus.WAITING));
+
+        commentRepository.save(createComment(item, "Отличная дрель"));
+        commentRepository.save(createComment(requestedItem, "Тоже хорошая"));
+    }
+
+    @Test
+    public void shouldGetItemCardInOneStatement() throws Exception {
+        assertStatementCount(1, get("/items/{itemId}", item.getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    public void shouldGetOwnerItemsInOneStatement() throws Exception {
+        assertStatementCount(1, get("/items").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    public void shouldSearchItemsInOneStatement() throws Exception {
+        assertStatementCount(1, get("/items/search").header(USER_HEADER, booker.getId())
+                .param("text", "дрель")
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    public void shouldGetBookingCardInOneStatement() throws Exception {
+        assertStatementCount(1, get("/bookings/{bookingId}", booking.getId()).header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    public void shouldGetBookerBookingsInOneStatement() throws Exception {
+        assertStatementCount(1, get("/bookings").header(USER_HEADER, booker.getId())
+                .param("state", "ALL")
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    public void shouldGetOwnerBookingsInOneStatement() throws Exception {
+        assertStatementCount(1, get("/bookings/owner").header(USER_HEADER, owner.getId())
+                .param("state", "ALL")
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    public void shouldExportOwnerBookingsInOneStatement() throws Exception {
+        assertStatementCount(1, get("/bookings/owner/export").header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    public void shouldGetUserItemRequestsInTwoStatements() throws Exception {
+        assertStatementCount(2, get("/requests").header(USER_HEADER, booker.getId()));
+    }
+
+    @Test
+    public void shouldGetAllItemRequestsInTwoStatements() throws Exception {
+        assertStatementCount(2, get("/requests/all").header(USER_HEADER, owner.getId())
+                .param("from", "0")
+                .param("size", "10"));
+    }
+
+    @Test
+    public void shouldGetItemRequestCardInTwoStatements() throws Exception {
+        assertStatementCount(2, get("/requests/{requestId}", itemRequest.getId()).header(USER_HEADER, owner.getId()));
+    }
+
+    @Test
+    public void shouldInsertItemsInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        User bulkOwner = userRepository.save(User.builder().name("Anna").email("anna@shareit.ru").build());
+        List<Item> items = IntStream.rangeClosed(1, 120)
+                .mapToObj(i -> Item.builder()
+                        .name("Вещь " + i)
+                        .description("Описание " + i)
+                        .available(true)
+                        .owner(bulkOwner)
+                        .build())
+                .collect(Collectors.toList());
+
+        statistics.clear();
+
+        itemRepository.saveAll(items);
+
+        assertThat(statistics.getEntityInsertCount(), is(120L));
+        assertThat(statistics.getPrepareStatementCount(), is(3L));
+    }
+
+    @Test
+    public void shouldRecordStatementsAndServiceCallsPerEndpoint() throws Exception {
+        mockMvc.perform(get("/bookings/{bookingId}", booking.getId()).header(USER_HEADER, booker.getId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find(SqlStatementMetricsInterceptor.SQL_STATEMENTS)
+                .tag("endpoint", "GET /bookings/{bookingId}")
+                .summary();
+        Timer serviceCalls = meterRegistry.find(ServiceMetricsAspect.SERVICE_CALLS)
+                .tag("service", "BookingService")
+                .tag("method", "getBookingById")
+                .tag("endpoint", "GET /bookings/{bookingId}")
+                .tag("outcome", ServiceMetricsAspect.SUCCESS)
+                .timer();
+
+        assertThat(statements, is(notNullValue()));
+        assertThat(statements.totalAmount(), greaterThanOrEqualTo((double) statements.count()));
+        assertThat(serviceCalls, is(notNullValue()));
+    }
+
+    private void assertStatementCount(long expected, RequestBuilder request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+        statistics.clear();
+
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount(), is(expected));
+    }
+
+    private Booking createBooking(Item bookedItem, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return Booking.builder()
+                .start(start)
+                .end(end)
+                .item(bookedItem)
+                .booker(booker)
+                .status(status)
+                .build();
+    }
+
+    private Comment createComment(Item commentedItem, String text) {
+        return Comment.builder()
+                .item(commentedItem)
+                .author(booker)
+                .text(text)
+                .created(LocalDateTime.now())
+                .build();
+    }
+}
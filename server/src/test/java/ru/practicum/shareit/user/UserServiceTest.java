@@ -3,17 +3,29 @@ package ru.practicum.shareit.user;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.booking.service.BookingTimeline;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.exception.AlreadyExistException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.DuplicateFinder;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
@@ -23,6 +35,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -37,12 +52,30 @@ public class UserServiceTest {
     private UserServiceImpl userService;
     @Mock
     private DuplicateFinder duplicateFinder;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Mock
+    private BookingTimeline bookingTimeline;
+    @Mock
+    private org.hibernate.Cache hibernateCache;
     private User user;
     @Captor
     private ArgumentCaptor<User> userCaptor;
 
     @BeforeEach
     public void createUser() {
+        lenient().when(entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)).thenReturn(hibernateCache);
+
         user = User.builder()
                 .id(1)
                 .name("Ilya")
@@ -95,7 +128,7 @@ public class UserServiceTest {
         assertThrows(AlreadyExistException.class,
                 () -> userService.updateUser(updatedUser, 1));
 
-        verify(userRepository, never()).save(updatedUser);
+        verify(userRepository, never()).saveAndFlush(updatedUser);
     }
 
     @Test
@@ -110,8 +143,8 @@ public class UserServiceTest {
 
         userService.updateUser(updatedUser, 1);
 
-        verify(userRepository, times(1)).save(any());
-        verify(userRepository).save(userCaptor.capture());
+        verify(userRepository, times(1)).saveAndFlush(any());
+        verify(userRepository).saveAndFlush(userCaptor.capture());
 
         User getUpdatedUser = userCaptor.getValue();
 
@@ -124,8 +157,25 @@ public class UserServiceTest {
     @Test
     public void shouldDeleteUserIfUserExistsInRepository() {
         when(userRepository.findById(1)).thenReturn(Optional.of(user));
+        when(itemRepository.findIdsByOwnerIdOrRequestorId(1)).thenReturn(List.of(2, 3));
+        when(itemRequestRepository.findIdsByRequestorId(1)).thenReturn(List.of(5));
+        when(bookingRepository.findItemIdsByBookerIdAndStatusInAndEndIsAfter(anyInt(), anyList(), any()))
+                .thenReturn(List.of(4));
+        when(bookingRepository.findApprovedItemIdsByBookerId(1)).thenReturn(List.of(4, 6));
 
         userService.deleteUserById(1);
+
+        verify(userRepository).deleteById(1);
+        verify(entityManagerFactory.getCache()).evict(Item.class, 2);
+        verify(entityManagerFactory.getCache()).evict(Item.class, 3);
+        verify(entityManagerFactory.getCache()).evict(ItemRequest.class, 5);
+        verify(entityManagerFactory.getCache(), never()).evict(Item.class);
+        verify(entityManagerFactory.getCache(), never()).evict(ItemRequest.class);
+        verify(hibernateCache).evictDefaultQueryRegion();
+        verify(itemSearchIndex).remove(2);
+        verify(itemSearchIndex).remove(3);
+        verify(bookingIntervalIndex).evict(List.of(4));
+        verify(bookingTimeline).evict(List.of(4, 6));
     }
 
     @Test
@@ -136,6 +186,70 @@ public class UserServiceTest {
                 () -> userService.deleteUserById(1));
     }
 
+    @Test
+    public void shouldCheckUserExistsOnlyOnceInRepository() {
+        when(userRepository.existsById(1)).thenReturn(true);
+
+        userService.checkUserExists(1);
+        userService.checkUserExists(1);
+
+        verify(userRepository, times(1)).existsById(1);
+    }
+
+    @Test
+    public void shouldNotCheckUserExistsInRepositoryAfterGetUserById() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        userService.getUserById(1);
+        userService.checkUserExists(1);
+
+        verify(userRepository, never()).existsById(1);
+    }
+
+    @Test
+    public void shouldThrowExceptionIfCheckedUserDoesntExistInRepository() {
+        when(userRepository.existsById(1)).thenReturn(false);
+
+        NoSuchElementException elementException = assertThrows(NoSuchElementException.class,
+                () -> userService.checkUserExists(1));
+
+        assertThat(elementException.getMessage(), is("Пользователь не найден"));
+    }
+
+    @Test
+    public void shouldCheckUserExistsInRepositoryAgainAfterDelete() {
+        when(userRepository.existsById(1)).thenReturn(true, false);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        userService.checkUserExists(1);
+        userService.deleteUserById(1);
+
+        assertThrows(NoSuchElementException.class, () -> userService.checkUserExists(1));
+        verify(userRepository, times(2)).existsById(1);
+    }
+
+    @Test
+    public void shouldForgetDeletedUserOnlyAfterCommit() {
+        when(userRepository.existsById(1)).thenReturn(true, false);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        userService.checkUserExists(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            userService.deleteUserById(1);
+            userService.checkUserExists(1);
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThrows(NoSuchElementException.class, () -> userService.checkUserExists(1));
+        verify(userRepository, times(2)).existsById(1);
+    }
+
     @Test
     public void shouldReturnAllUsers() {
         when(userRepository.findAll()).thenReturn(List.of(user));